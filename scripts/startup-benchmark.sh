@@ -0,0 +1,127 @@
+#!/usr/bin/env bash
+# Measures startup of the application with each of the faststart settings on its own and all of
+# them together: the time from launching the JVM until /actuator/health/readiness reports UP, the
+# time until the first POST /api/frituren has been answered, and the resident set size after that
+# request. Every mode starts the same extracted jar, so run `mvn -Pfaststart package` first.
+#
+# Modes:
+#   default  no CDS archive of the application, no AOT, eager beans
+#   cds      only the CDS archive
+#   aot      only the AOT bean definitions (they were generated with the faststart profile, which is
+#            active here too, with lazy initialization switched back off)
+#   lazy     only lazy initialization, from the faststart profile
+#   all      everything, as in the README
+#
+# Usage: scripts/startup-benchmark.sh [runs per mode] [port] [modes...]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${2:-8080}
+MODES=("${@:3}")
+if ((${#MODES[@]} == 0)); then
+  MODES=(default cds aot lazy all)
+fi
+DIR=$(cd "$(dirname "$0")/.." && pwd)/target/faststart
+JAR=$(find "$DIR" -maxdepth 1 -name '*.jar' | head -n 1)
+ARCHIVE=$DIR/application.jsa
+TIMEOUT_SECONDS=60
+
+if [[ -z "$JAR" || ! -f "$ARCHIVE" ]]; then
+  echo "No extracted jar and CDS archive in $DIR; run mvn -Pfaststart package first" >&2
+  exit 1
+fi
+
+now_millis() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+rss_kb() {
+  if [[ -r /proc/$1/status ]]; then
+    awk '/^VmRSS:/ {print $2}' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+# Starts the JVM with the given arguments and prints "<millis to ready> <millis to first order>
+# <rss kB>"
+measure() {
+  local started pid ready first rss
+  started=$(now_millis)
+  java "$@" -jar "$JAR" --server.port="$PORT" >/dev/null 2>&1 &
+  pid=$!
+  until curl -sf "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "The application exited before it became ready" >&2
+      exit 1
+    fi
+    if (($(now_millis) - started > TIMEOUT_SECONDS * 1000)); then
+      kill "$pid"
+      echo "Not ready within $TIMEOUT_SECONDS s" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  ready=$(($(now_millis) - started))
+  # Lazy beans, controllers and JSON mapping are only created by the first real request
+  if ! curl -sf -X POST "http://localhost:$PORT/api/frituren" \
+    -H "Content-Type: application/json" \
+    -d '[{"size": 9}, {"count": 2}, {"type": "KAAS", "count": 1}]' >/dev/null; then
+    kill "$pid"
+    echo "The first order failed" >&2
+    exit 1
+  fi
+  first=$(($(now_millis) - started))
+  rss=$(rss_kb "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$ready $first $rss"
+}
+
+median() {
+  sort -n | awk '{values[NR] = $1} END {print values[int((NR + 1) / 2)]}'
+}
+
+run_mode() {
+  local label=$1
+  shift
+  local ready=() first=() rss=() output result
+  for ((i = 1; i <= RUNS; i++)); do
+    output=$(measure "$@")
+    read -r -a result <<<"$output"
+    ready+=("${result[0]}")
+    first+=("${result[1]}")
+    rss+=("${result[2]}")
+    printf '%-8s run %2d  ready %6d ms  first order %6d ms  %7d kB\n' \
+      "$label" "$i" "${result[@]}"
+  done
+  printf '%-8s median  ready %6d ms  first order %6d ms  %7d kB\n\n' "$label" \
+    "$(printf '%s\n' "${ready[@]}" | median)" \
+    "$(printf '%s\n' "${first[@]}" | median)" \
+    "$(printf '%s\n' "${rss[@]}" | median)"
+}
+
+for mode in "${MODES[@]}"; do
+  case $mode in
+    default) run_mode default -Xshare:auto ;;
+    cds) run_mode cds -XX:SharedArchiveFile="$ARCHIVE" ;;
+    aot)
+      run_mode aot \
+        -Xshare:auto \
+        -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=faststart \
+        -Dspring.main.lazy-initialization=false
+      ;;
+    lazy) run_mode lazy -Xshare:auto -Dspring.profiles.active=faststart ;;
+    all)
+      run_mode all \
+        -XX:SharedArchiveFile="$ARCHIVE" \
+        -Dspring.aot.enabled=true \
+        -Dspring.profiles.active=faststart
+      ;;
+    *)
+      echo "Unknown mode $mode; use default, cds, aot, lazy or all" >&2
+      exit 1
+      ;;
+  esac
+done
@@ -0,0 +1,212 @@
+package com.example.springjqwikdemo.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties("snackbar")
+public record SnackbarProperties(
+    Frituren frituren,
+    Cache cache,
+    Batch batch,
+    Bakken bakken,
+    Admission admission,
+    Planning planning,
+    Intake intake,
+    Journal journal,
+    Warmup warmup) {
+
+  public SnackbarProperties {
+    frituren = frituren != null ? frituren : new Frituren(0, 0);
+    cache = cache != null ? cache : new Cache(null, 0, 0);
+    batch = batch != null ? batch : new Batch(0, 0, 0);
+    bakken = bakken != null ? bakken : new Bakken(List.of());
+    admission = admission != null ? admission : new Admission(0, 0, 0, null);
+    planning = planning != null ? planning : new Planning(0, 0, null, null, null, null, null);
+    intake = intake != null ? intake : new Intake(0, 0, null, 0);
+    journal = journal != null ? journal : new Journal(false, null, null, null);
+    warmup = warmup != null ? warmup : new Warmup(false, null, 0, 0);
+  }
+
+  /**
+   * @param parallelThreshold orders with at least this many lines are fried in parallel
+   * @param chunkSize the number of lines one fork-join task fries sequentially
+   */
+  public record Frituren(int parallelThreshold, int chunkSize) {
+
+    public Frituren {
+      parallelThreshold = parallelThreshold > 0 ? parallelThreshold : 16_384;
+      chunkSize = chunkSize > 0 ? chunkSize : 4_096;
+    }
+  }
+
+  /**
+   * @param enabled whether repeated orders are answered from the cache, defaults to true
+   * @param maxLines orders with more lines than this are never cached
+   * @param maxWeight the total weight of cached orders, counted as order lines plus result runs
+   */
+  public record Cache(Boolean enabled, int maxLines, long maxWeight) {
+
+    public Cache {
+      enabled = enabled == null || enabled;
+      maxLines = maxLines > 0 ? maxLines : 64;
+      maxWeight = maxWeight > 0 ? maxWeight : 100_000;
+    }
+  }
+
+  /**
+   * @param parallelism worker threads for batch orders, defaults to the number of processors
+   * @param queueCapacity orders waiting for a worker before the request thread helps out
+   * @param maxOrders the largest batch accepted in one request
+   */
+  public record Batch(int parallelism, int queueCapacity, int maxOrders) {
+
+    public Batch {
+      parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+      queueCapacity = queueCapacity > 0 ? queueCapacity : 1024;
+      maxOrders = maxOrders > 0 ? maxOrders : 1000;
+    }
+  }
+
+  /**
+   * @param budget the output items all admitted orders together may fry at the same time
+   * @param maxOrderItems orders that fry more items than this are rejected outright
+   * @param queueCapacity orders that may wait for budget before further orders are rejected
+   * @param maxWait how long an order waits for budget before it is rejected
+   */
+  public record Admission(long budget, long maxOrderItems, int queueCapacity, Duration maxWait) {
+
+    public Admission {
+      budget = budget > 0 ? budget : 50_000_000;
+      maxOrderItems = maxOrderItems > 0 ? Math.min(maxOrderItems, budget) : budget;
+      queueCapacity = queueCapacity > 0 ? queueCapacity : 64;
+      maxWait = maxWait != null ? maxWait : Duration.ofMillis(200);
+    }
+  }
+
+  /**
+   * @param capacity orders the intake ring holds before new orders are refused, rounded up to a
+   *     power of two
+   * @param workers threads frying queued orders, defaults to the number of processors
+   * @param retention how long a ticket and its result stay available after they were written
+   * @param maxTickets the most tickets kept at once, beyond which tickets are evicted early
+   */
+  public record Intake(int capacity, int workers, Duration retention, int maxTickets) {
+
+    public Intake {
+      capacity = capacity > 0 ? capacity : 1024;
+      workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+      retention = retention != null ? retention : Duration.ofMinutes(5);
+      maxTickets = maxTickets > 0 ? maxTickets : 100_000;
+    }
+  }
+
+  /**
+   * @param enabled whether orders of the intake and of {@code /frituren} are written to the journal
+   * @param directory where the segment files live
+   * @param segmentSize the size of one segment file, between 4KB and 1GB
+   * @param waitForCommit whether an order is acknowledged only once it is on disk
+   */
+  public record Journal(
+      boolean enabled, Path directory, DataSize segmentSize, Boolean waitForCommit) {
+
+    public Journal {
+      directory = directory != null ? directory : Path.of("journal");
+      segmentSize =
+          segmentSize != null
+              ? DataSize.ofBytes(
+                  Math.clamp(segmentSize.toBytes(), 4 * 1024, 1024 * 1024 * 1024))
+              : DataSize.ofMegabytes(64);
+      waitForCommit = waitForCommit == null || waitForCommit;
+    }
+  }
+
+  /**
+   * Warm-up before the application reports readiness; it stops at whichever budget runs out first.
+   *
+   * @param enabled whether synthetic requests are sent to the application's own endpoints
+   * @param duration the longest the warm-up may take
+   * @param requests the most requests the warm-up sends
+   * @param concurrency requests in flight at once, defaults to the number of processors
+   */
+  public record Warmup(boolean enabled, Duration duration, int requests, int concurrency) {
+
+    public Warmup {
+      duration = duration != null && duration.isPositive() ? duration : Duration.ofSeconds(10);
+      requests = requests > 0 ? requests : 20_000;
+      concurrency = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+    }
+  }
+
+  /**
+   * The kitchen that {@code /api/planning} plans for. Every basket holds one kind of item; kroketten
+   * of different types never share a basket.
+   *
+   * @param fryers the number of baskets that can fry at the same time
+   * @param maxBaskets plans that need more baskets than this are rejected
+   */
+  public record Planning(
+      int fryers,
+      int maxBaskets,
+      Basket pataten,
+      Basket frikandellen,
+      Basket kroketten,
+      Basket cervela,
+      Basket bereklauw) {
+
+    public Planning {
+      fryers = fryers > 0 ? fryers : 4;
+      maxBaskets = maxBaskets > 0 ? maxBaskets : 100_000;
+      pataten = withDefaults(pataten, Duration.ofSeconds(210), 10);
+      frikandellen = withDefaults(frikandellen, Duration.ofSeconds(180), 12);
+      kroketten = withDefaults(kroketten, Duration.ofSeconds(180), 8);
+      cervela = withDefaults(cervela, Duration.ofSeconds(240), 4);
+      bereklauw = withDefaults(bereklauw, Duration.ofSeconds(240), 6);
+    }
+
+    private static Basket withDefaults(Basket basket, Duration fryTime, int capacity) {
+      if (basket == null) {
+        return new Basket(fryTime, capacity);
+      }
+      return new Basket(
+          basket.fryTime() != null && basket.fryTime().isPositive() ? basket.fryTime() : fryTime,
+          basket.capacity() > 0 ? basket.capacity() : capacity);
+    }
+  }
+
+  /**
+   * @param fryTime how long one basket of this subtype fries
+   * @param capacity how many items one basket holds
+   */
+  public record Basket(Duration fryTime, int capacity) {}
+
+  /** @param words the potato words {@code /bakken} recognizes, aardappel and pieper by default */
+  public record Bakken(List<Word> words) {
+
+    public Bakken {
+      words =
+          words != null && !words.isEmpty()
+              ? List.copyOf(words)
+              : List.of(new Word("aardappel", null, 0), new Word("pieper", null, 0));
+    }
+  }
+
+  /**
+   * @param word the word to recognize, matched ignoring case, surrounding whitespace and
+   *     look-alike Cyrillic letters
+   * @param item the item every occurrence fries into, {@code friet} by default
+   * @param count how many items every occurrence fries into, the length of the word by default
+   */
+  public record Word(String word, String item, int count) {
+
+    public Word {
+      if (word == null || word.isBlank()) {
+        throw new IllegalArgumentException("A potato word must not be blank");
+      }
+      item = item != null && !item.isEmpty() ? item : "friet";
+      count = count > 0 ? count : word.strip().length();
+    }
+  }
+}
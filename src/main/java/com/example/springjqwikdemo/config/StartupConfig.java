@@ -0,0 +1,21 @@
+package com.example.springjqwikdemo.config;
+
+import com.example.springjqwikdemo.service.SnackbarListener;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+  /**
+   * Keeps the listeners and the journal eager when {@code spring.main.lazy-initialization} is on:
+   * the journal verifies its segments and the metrics register their meters at startup, not during
+   * the first order.
+   */
+  @Bean
+  static LazyInitializationExcludeFilter eagerListeners() {
+    return LazyInitializationExcludeFilter.forBeanTypes(SnackbarListener.class, OrderJournal.class);
+  }
+}
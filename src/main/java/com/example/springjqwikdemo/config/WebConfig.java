@@ -0,0 +1,33 @@
+package com.example.springjqwikdemo.config;
+
+import com.example.springjqwikdemo.controller.AdmissionInterceptor;
+import com.example.springjqwikdemo.controller.FrituurHttpMessageConverter;
+import com.example.springjqwikdemo.controller.WarmupInterceptor;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final WarmupInterceptor warmup = new WarmupInterceptor();
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new FrituurHttpMessageConverter());
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new AdmissionInterceptor());
+    registry.addInterceptor(warmup);
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(warmup);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.OrderAdmission;
+import com.example.springjqwikdemo.service.OrderRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds the {@link OrderAdmission} permit of a request until the response has been written. The
+ * controller admits the order before frying it; the permit is released here, after the result
+ * has been serialized, because writing a large result costs as much as frying it. Orders taken in
+ * by {@code POST /api/orders} are fried after the response, so their permit is {@link #acquire
+ * acquired} without the request and handed to the intake instead.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+  private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+
+  /**
+   * Admits an order of {@code cost} items for the request, answering {@code 413} for orders that
+   * are too large and {@code 429} when the budget stays exhausted.
+   */
+  static void admit(OrderAdmission admission, HttpServletRequest request, long cost) {
+    request.setAttribute(PERMIT, acquire(admission, cost));
+  }
+
+  /**
+   * Admits an order of {@code cost} items like {@link #admit}, but leaves releasing the permit to
+   * the caller.
+   */
+  static OrderAdmission.Permit acquire(OrderAdmission admission, long cost) {
+    try {
+      return admission.admit(cost);
+    } catch (OrderRejectedException e) {
+      HttpStatus status =
+          e.tooLarge() ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.TOO_MANY_REQUESTS;
+      throw new ResponseStatusException(status, e.getMessage());
+    }
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(PERMIT) instanceof OrderAdmission.Permit permit) {
+      request.removeAttribute(PERMIT);
+      permit.release();
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.service.RunLengthList;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compact binary form of orders and fry results, {@code application/x-frituur}.
+ *
+ * <p>An order is a varint line count followed by the lines. Every line is one tag byte for the
+ * subtype, for kroketten one byte with the {@link Krokettype} ordinal, and the size or count as a
+ * zigzag varint. A result is a varint run count followed by the runs: one byte with the index of
+ * the item in {@link SnackbarService#vocabulary()}, or {@code 0xFF} and the item as a varint
+ * length and UTF-8 bytes for any other item, such as one of a configured potato word, and then the
+ * run length as a varint.
+ *
+ * <p>Malformed input is reported as {@link IllegalArgumentException}, truncated input as {@link
+ * EOFException}.
+ */
+public final class FrituurCodec {
+
+  static final int PATATEN = 0;
+  static final int FRIKANDELLEN = 1;
+  static final int KROKETTEN = 2;
+  static final int CERVELA = 3;
+  static final int BEREKLAUW = 4;
+
+  private static final int OTHER_ITEM = 0xFF;
+  private static final int MAX_PREALLOCATED = 1 << 16;
+  private static final int MAX_ITEM_LENGTH = 1 << 16;
+  private static final Krokettype[] KROKETTYPES = Krokettype.values();
+  private static final List<String> VOCABULARY = SnackbarService.vocabulary();
+  private static final Map<String, Integer> VOCABULARY_INDEX = new HashMap<>();
+
+  static {
+    for (int i = 0; i < VOCABULARY.size(); i++) {
+      VOCABULARY_INDEX.put(VOCABULARY.get(i), i);
+    }
+  }
+
+  private FrituurCodec() {}
+
+  public static void writeOrder(List<Frituurbaar> order, OutputStream out) throws IOException {
+    Writer writer = new Writer(out);
+    writer.varint(order.size());
+    for (Frituurbaar item : order) {
+      switch (item) {
+        case Pataten p -> writer.line(PATATEN, p.size());
+        case Frikandellen f -> writer.line(FRIKANDELLEN, f.count());
+        case Kroketten k -> {
+          writer.write(KROKETTEN);
+          writer.write(k.type().ordinal());
+          writer.varint(zigzag(k.count()));
+        }
+        case Cervela c -> writer.line(CERVELA, c.count());
+        case Bereklauw b -> writer.line(BEREKLAUW, b.count());
+      }
+    }
+    writer.flush();
+  }
+
+  public static List<Frituurbaar> readOrder(InputStream in) throws IOException {
+    Reader reader = new Reader(in);
+    int lines = reader.length(Integer.MAX_VALUE);
+    List<Frituurbaar> order = new ArrayList<>(Math.min(lines, MAX_PREALLOCATED));
+    for (int i = 0; i < lines; i++) {
+      int tag = reader.read();
+      order.add(
+          switch (tag) {
+            case PATATEN -> new Pataten(unzigzag(reader.varint()));
+            case FRIKANDELLEN -> new Frikandellen(unzigzag(reader.varint()));
+            case KROKETTEN -> {
+              int ordinal = reader.read();
+              if (ordinal >= KROKETTYPES.length) {
+                throw new IllegalArgumentException("Unknown krokettype ordinal " + ordinal);
+              }
+              yield new Kroketten(KROKETTYPES[ordinal], unzigzag(reader.varint()));
+            }
+            case CERVELA -> new Cervela(unzigzag(reader.varint()));
+            case BEREKLAUW -> new Bereklauw(unzigzag(reader.varint()));
+            default -> throw new IllegalArgumentException("Unknown subtype tag " + tag);
+          });
+    }
+    return order;
+  }
+
+  public static void writeResult(RunLengthList result, OutputStream out) throws IOException {
+    Writer writer = new Writer(out);
+    writer.varint(result.runCount());
+    for (int run = 0; run < result.runCount(); run++) {
+      String item = result.runValue(run);
+      Integer index = VOCABULARY_INDEX.get(item);
+      if (index != null) {
+        writer.write(index);
+      } else {
+        byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+        writer.write(OTHER_ITEM);
+        writer.varint(bytes.length);
+        writer.write(bytes);
+      }
+      writer.varint(result.runLength(run));
+    }
+    writer.flush();
+  }
+
+  public static RunLengthList readResult(InputStream in) throws IOException {
+    Reader reader = new Reader(in);
+    int runs = reader.length(Integer.MAX_VALUE);
+    RunLengthList.Builder result = RunLengthList.builder();
+    for (int run = 0; run < runs; run++) {
+      int index = reader.read();
+      String item;
+      if (index == OTHER_ITEM) {
+        item = new String(reader.read(reader.length(MAX_ITEM_LENGTH)), StandardCharsets.UTF_8);
+      } else if (index < VOCABULARY.size()) {
+        item = VOCABULARY.get(index);
+      } else {
+        throw new IllegalArgumentException("Unknown item index " + index);
+      }
+      result.add(item, reader.length(Integer.MAX_VALUE));
+    }
+    return result.build();
+  }
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** Buffers writes itself, so every byte does not go through a synchronized stream. */
+  private static final class Writer {
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    Writer(OutputStream out) {
+      this.out = out;
+    }
+
+    void line(int tag, int value) throws IOException {
+      write(tag);
+      varint(zigzag(value));
+    }
+
+    void varint(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      write(value);
+    }
+
+    void write(int b) throws IOException {
+      if (position == buffer.length) {
+        drain();
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    void write(byte[] bytes) throws IOException {
+      drain();
+      out.write(bytes);
+    }
+
+    void flush() throws IOException {
+      drain();
+      out.flush();
+    }
+
+    private void drain() throws IOException {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  private static final class Reader {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+
+    Reader(InputStream in) {
+      this.in = in;
+    }
+
+    int read() throws IOException {
+      if (position == limit) {
+        limit = in.read(buffer);
+        position = 0;
+        if (limit <= 0) {
+          limit = 0;
+          throw new EOFException("Truncated x-frituur body");
+        }
+      }
+      return buffer[position++] & 0xFF;
+    }
+
+    byte[] read(int length) throws IOException {
+      byte[] bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) read();
+      }
+      return bytes;
+    }
+
+    /** An unsigned varint that must not be larger than {@code max}. */
+    int length(int max) throws IOException {
+      int length = varint();
+      if (length < 0 || length > max) {
+        throw new IllegalArgumentException(
+            "Length out of range: " + Integer.toUnsignedString(length));
+      }
+      return length;
+    }
+
+    int varint() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        int b = read();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Varint longer than five bytes");
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.RunLengthList;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Reads {@code List<Frituurbaar>} orders and writes {@link RunLengthList} results in the binary
+ * {@link FrituurCodec} format. Clients opt in through {@code Content-Type} and {@code Accept}.
+ * The converter is registered after the JSON converters, so JSON stays the default when a client
+ * accepts any media type.
+ */
+public class FrituurHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  public static final String APPLICATION_FRITUUR_VALUE = "application/x-frituur";
+  public static final MediaType APPLICATION_FRITUUR =
+      MediaType.parseMediaType(APPLICATION_FRITUUR_VALUE);
+
+  public FrituurHttpMessageConverter() {
+    super(APPLICATION_FRITUUR);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RunLengthList.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+    return isOrder(type) && canRead(mediaType);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+    return supports(clazz) && canWrite(mediaType);
+  }
+
+  @Override
+  public List<Frituurbaar> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+      throws IOException {
+    return readInternal(List.class, inputMessage);
+  }
+
+  @Override
+  protected List<Frituurbaar> readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+      throws IOException {
+    try {
+      return FrituurCodec.readOrder(inputMessage.getBody());
+    } catch (IllegalArgumentException e) {
+      throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object result, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    FrituurCodec.writeResult((RunLengthList) result, outputMessage.getBody());
+  }
+
+  private static boolean isOrder(Type type) {
+    return type instanceof ParameterizedType parameterized
+        && parameterized.getRawType() instanceof Class<?> raw
+        && raw.isAssignableFrom(List.class)
+        && Collection.class.isAssignableFrom(raw)
+        && parameterized.getActualTypeArguments()[0] == Frituurbaar.class;
+  }
+}
@@ -0,0 +1,176 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.domain.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * JSON for the sealed {@link Frituurbaar} hierarchy, with a {@code "snack"} discriminator:
+ * {@code {"snack": "kroketten", "type": "KAAS", "count": 2}}.
+ *
+ * <p>The deserializer reads the fields of one object into locals in a single pass, in any order,
+ * and builds the record once the object ends. Nothing is buffered and no polymorphic type handling
+ * or reflection is involved. Objects without a discriminator are read as before it existed: with
+ * {@code size} as Pataten, with {@code type} as Kroketten and with only {@code count} as
+ * Frikandellen.
+ */
+@Component
+public class FrituurbaarModule extends SimpleModule {
+
+  static final String PATATEN = "pataten";
+  static final String FRIKANDELLEN = "frikandellen";
+  static final String KROKETTEN = "kroketten";
+  static final String CERVELA = "cervela";
+  static final String BEREKLAUW = "bereklauw";
+
+  private static final SerializedString SNACK = new SerializedString("snack");
+  private static final SerializedString SIZE = new SerializedString("size");
+  private static final SerializedString TYPE = new SerializedString("type");
+  private static final SerializedString COUNT = new SerializedString("count");
+
+  private static final Map<String, Krokettype> KROKETTYPES = new HashMap<>();
+
+  static {
+    for (Krokettype type : Krokettype.values()) {
+      KROKETTYPES.put(type.name(), type);
+    }
+  }
+
+  public FrituurbaarModule() {
+    super("FrituurbaarModule");
+    addSerializer(Frituurbaar.class, new Serializer());
+    addDeserializer(Frituurbaar.class, new Deserializer());
+  }
+
+  static final class Serializer extends StdSerializer<Frituurbaar> {
+
+    Serializer() {
+      super(Frituurbaar.class);
+    }
+
+    @Override
+    public void serialize(Frituurbaar item, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeStartObject(item);
+      switch (item) {
+        case Pataten p -> {
+          snack(gen, PATATEN);
+          gen.writeFieldName(SIZE);
+          gen.writeNumber(p.size());
+        }
+        case Frikandellen f -> count(gen, FRIKANDELLEN, f.count());
+        case Kroketten k -> {
+          snack(gen, KROKETTEN);
+          gen.writeFieldName(TYPE);
+          gen.writeString(k.type().name());
+          gen.writeFieldName(COUNT);
+          gen.writeNumber(k.count());
+        }
+        case Cervela c -> count(gen, CERVELA, c.count());
+        case Bereklauw b -> count(gen, BEREKLAUW, b.count());
+      }
+      gen.writeEndObject();
+    }
+
+    private static void snack(JsonGenerator gen, String snack) throws IOException {
+      gen.writeFieldName(SNACK);
+      gen.writeString(snack);
+    }
+
+    private static void count(JsonGenerator gen, String snack, int count) throws IOException {
+      snack(gen, snack);
+      gen.writeFieldName(COUNT);
+      gen.writeNumber(count);
+    }
+  }
+
+  static final class Deserializer extends StdDeserializer<Frituurbaar> {
+
+    Deserializer() {
+      super(Frituurbaar.class);
+    }
+
+    @Override
+    public Frituurbaar deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String field;
+      if (p.isExpectedStartObjectToken()) {
+        field = p.nextFieldName();
+      } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+        field = p.currentName();
+      } else {
+        return (Frituurbaar) ctxt.handleUnexpectedToken(Frituurbaar.class, p);
+      }
+
+      String snack = null;
+      Krokettype type = null;
+      int size = 0;
+      int count = 0;
+      boolean hasSize = false;
+      boolean hasCount = false;
+      for (; field != null; field = p.nextFieldName()) {
+        p.nextToken();
+        switch (field) {
+          case "snack" -> snack = string(p, ctxt);
+          case "size" -> {
+            size = _parseIntPrimitive(p, ctxt);
+            hasSize = true;
+          }
+          case "count" -> {
+            count = _parseIntPrimitive(p, ctxt);
+            hasCount = true;
+          }
+          case "type" -> type = krokettype(p, ctxt);
+          default -> ctxt.handleUnknownProperty(p, this, Frituurbaar.class, field);
+        }
+      }
+
+      if (snack == null) {
+        snack = hasSize ? PATATEN : type != null ? KROKETTEN : hasCount ? FRIKANDELLEN : null;
+        if (snack == null) {
+          return ctxt.reportInputMismatch(this, "Missing \"snack\" discriminator");
+        }
+      }
+      return switch (snack) {
+        case PATATEN -> new Pataten(size);
+        case FRIKANDELLEN -> new Frikandellen(count);
+        case KROKETTEN -> {
+          if (type == null) {
+            yield ctxt.reportInputMismatch(this, "Kroketten need a \"type\"");
+          }
+          yield new Kroketten(type, count);
+        }
+        case CERVELA -> new Cervela(count);
+        case BEREKLAUW -> new Bereklauw(count);
+        default -> throw ctxt.weirdStringException(snack, Frituurbaar.class, "unknown snack");
+      };
+    }
+
+    private static String string(JsonParser p, DeserializationContext ctxt) throws IOException {
+      if (!p.hasToken(JsonToken.VALUE_STRING)) {
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+      }
+      return p.getText();
+    }
+
+    private static Krokettype krokettype(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      String name = string(p, ctxt);
+      Krokettype type = KROKETTYPES.get(name);
+      if (type == null) {
+        throw ctxt.weirdStringException(name, Krokettype.class, "unknown krokettype");
+      }
+      return type;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/journal")
+@ConditionalOnProperty(prefix = "snackbar.journal", name = "enabled", havingValue = "true")
+public class JournalController {
+
+  private final OrderJournal journal;
+  private final ObjectMapper objectMapper;
+
+  public JournalController(OrderJournal journal, ObjectMapper objectMapper) {
+    this.journal = journal;
+    this.objectMapper = objectMapper;
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> replay(
+      @RequestParam(defaultValue = "0") long from) {
+    StreamingResponseBody body =
+        out -> {
+          JsonGenerator generator =
+              objectMapper
+                  .getFactory()
+                  .createGenerator(out)
+                  .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                  .setRootValueSeparator(null);
+          ObjectWriter writer =
+              objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+          try {
+            journal.replay(
+                from,
+                entry -> {
+                  try {
+                    writer.writeValue(generator, entry);
+                    generator.writeRaw('\n');
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                });
+          } catch (UncheckedIOException e) {
+            throw e.getCause();
+          }
+          generator.close();
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+}
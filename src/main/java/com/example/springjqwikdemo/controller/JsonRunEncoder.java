@@ -0,0 +1,105 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes runs of one repeated JSON string. Every item of the snack vocabulary is encoded once at
+ * startup into a block of repeated units, so a run is written as a few bulk copies of that block
+ * without escaping or encoding anything per element. Other strings are encoded per run.
+ */
+final class JsonRunEncoder {
+
+  /** Units of the form {@code ,"item"}, for the elements of a JSON array. */
+  static final JsonRunEncoder ARRAY_ELEMENTS = new JsonRunEncoder(",", "");
+
+  /** Units of the form {@code "item"\n}, for newline-delimited JSON. */
+  static final JsonRunEncoder NDJSON_LINES = new JsonRunEncoder("", "\n");
+
+  private static final int BLOCK_SIZE = 8192;
+
+  private final String prefix;
+  private final String suffix;
+  private final Map<String, Encoded> vocabulary = new HashMap<>();
+
+  private JsonRunEncoder(String prefix, String suffix) {
+    this.prefix = prefix;
+    this.suffix = suffix;
+    for (String item : SnackbarService.vocabulary()) {
+      byte[] unit = unit(item);
+      int repeat = Math.max(1, BLOCK_SIZE / unit.length);
+      byte[] block = new byte[repeat * unit.length];
+      for (int i = 0; i < repeat; i++) {
+        System.arraycopy(unit, 0, block, i * unit.length, unit.length);
+      }
+      vocabulary.put(item, new Encoded(block, unit.length));
+    }
+  }
+
+  /** The number of bytes the run takes, see {@link #write(OutputStream, String, int, boolean)}. */
+  long length(String item, int count, boolean skipFirstPrefix) {
+    if (count <= 0) {
+      return 0;
+    }
+    long length = (long) encoded(item).unitLength() * count;
+    return skipFirstPrefix ? length - prefix.length() : length;
+  }
+
+  void write(OutputStream out, String item, int count) throws IOException {
+    write(out, item, count, false);
+  }
+
+  /** Writes the run; with {@code skipFirstPrefix} the first unit is written without prefix. */
+  void write(OutputStream out, String item, int count, boolean skipFirstPrefix)
+      throws IOException {
+    if (count <= 0) {
+      return;
+    }
+    Encoded encoded = encoded(item);
+    byte[] block = encoded.block();
+    int unitLength = encoded.unitLength();
+    int unitsPerBlock = block.length / unitLength;
+    if (skipFirstPrefix) {
+      out.write(block, prefix.length(), unitLength - prefix.length());
+      count--;
+    }
+    for (; count >= unitsPerBlock; count -= unitsPerBlock) {
+      out.write(block);
+    }
+    if (count > 0) {
+      out.write(block, 0, count * unitLength);
+    }
+  }
+
+  private Encoded encoded(String item) {
+    Encoded encoded = vocabulary.get(item);
+    if (encoded == null) {
+      byte[] unit = unit(item);
+      encoded = new Encoded(unit, unit.length);
+    }
+    return encoded;
+  }
+
+  private byte[] unit(String item) {
+    byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(item);
+    byte[] unit = new byte[prefix.length() + quoted.length + 2 + suffix.length()];
+    int position = 0;
+    for (int i = 0; i < prefix.length(); i++) {
+      unit[position++] = (byte) prefix.charAt(i);
+    }
+    unit[position++] = '"';
+    System.arraycopy(quoted, 0, unit, position, quoted.length);
+    position += quoted.length;
+    unit[position++] = '"';
+    for (int i = 0; i < suffix.length(); i++) {
+      unit[position++] = (byte) suffix.charAt(i);
+    }
+    return unit;
+  }
+
+  private record Encoded(byte[] block, int unitLength) {}
+}
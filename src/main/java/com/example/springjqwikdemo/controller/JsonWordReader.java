@@ -0,0 +1,82 @@
+package com.example.springjqwikdemo.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of words token by token, parsing the next word only when it is asked for.
+ * Only one word is in memory at a time. Nulls and other scalars are skipped, nested arrays or
+ * objects are rejected. Parse errors surface as {@link UncheckedIOException}.
+ */
+final class JsonWordReader implements Iterator<String>, Closeable {
+
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final JsonParser parser;
+  private String next;
+  private boolean done;
+
+  JsonWordReader(InputStream input) throws IOException {
+    this.parser = JSON.createParser(input);
+    if (parser.nextToken() != JsonToken.START_ARRAY) {
+      throw new JsonParseException(parser, "Expected a JSON array of words");
+    }
+  }
+
+  /** A single-use view of the remaining words. */
+  Iterable<String> words() {
+    return () -> this;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      try {
+        advance();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    String word = next;
+    next = null;
+    return word;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  private void advance() throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == null) {
+        throw new JsonParseException(parser, "Unexpected end of the word array");
+      }
+      if (token == JsonToken.VALUE_STRING) {
+        next = parser.getText();
+        return;
+      }
+      if (token.isStructStart()) {
+        throw new JsonParseException(parser, "Expected a word but found " + token);
+      }
+    }
+    done = true;
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.springjqwikdemo.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Writes runs of fried items as newline-delimited JSON strings, one item per line. Lines come
+ * from the pre-encoded blocks of {@link JsonRunEncoder}, so memory stays constant regardless of
+ * the run lengths.
+ */
+class NdjsonRunWriter implements ObjIntConsumer<String> {
+
+  private final OutputStream out;
+
+  NdjsonRunWriter(OutputStream out) {
+    this.out = new BufferedOutputStream(out);
+  }
+
+  @Override
+  public void accept(String item, int count) {
+    try {
+      JsonRunEncoder.NDJSON_LINES.write(out, item, count);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  void finish() throws IOException {
+    out.flush();
+  }
+}
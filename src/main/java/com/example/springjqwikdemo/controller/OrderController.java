@@ -0,0 +1,88 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.BatchOrder;
+import com.example.springjqwikdemo.domain.BatchOrderResult;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.OrderTicket;
+import com.example.springjqwikdemo.service.BatchOrderService;
+import com.example.springjqwikdemo.service.CostEstimator;
+import com.example.springjqwikdemo.service.OrderAdmission;
+import com.example.springjqwikdemo.service.intake.OrderIntake;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+  private final BatchOrderService batchOrderService;
+  private final SnackbarProperties properties;
+  private final OrderAdmission admission;
+  private final OrderIntake intake;
+
+  public OrderController(
+      BatchOrderService batchOrderService,
+      SnackbarProperties properties,
+      OrderAdmission admission,
+      OrderIntake intake) {
+    this.batchOrderService = batchOrderService;
+    this.properties = properties;
+    this.admission = admission;
+    this.intake = intake;
+  }
+
+  @PostMapping
+  public ResponseEntity<OrderTicket> submit(@RequestBody List<Frituurbaar> order) {
+    OrderAdmission.Permit permit =
+        AdmissionInterceptor.acquire(admission, CostEstimator.outputItems(order));
+    return intake
+        .submit(order, permit)
+        .map(
+            ticket ->
+                ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/" + ticket.orderId()))
+                    .body(ticket))
+        .orElseGet(
+            () ->
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build());
+  }
+
+  @GetMapping("/{orderId}")
+  public ResponseEntity<OrderTicket> ticket(
+      @PathVariable String orderId, HttpServletRequest request) {
+    OrderTicket ticket =
+        intake
+            .ticket(orderId)
+            .orElseThrow(
+                () ->
+                    new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown order " + orderId));
+    if (ticket.items() != null) {
+      // Writing the items costs as much as writing a /frituren result
+      AdmissionInterceptor.admit(admission, request, ticket.items().size());
+    }
+    return ticket.status() == OrderTicket.Status.QUEUED
+        ? ResponseEntity.accepted().body(ticket)
+        : ResponseEntity.ok(ticket);
+  }
+
+  @PostMapping("/batch")
+  public ResponseEntity<List<BatchOrderResult>> processBatch(
+      @RequestBody List<BatchOrder> orders, HttpServletRequest request) {
+    int maxOrders = properties.batch().maxOrders();
+    if (orders.size() > maxOrders) {
+      throw new ResponseStatusException(
+          HttpStatus.PAYLOAD_TOO_LARGE, "A batch holds at most " + maxOrders + " orders");
+    }
+    AdmissionInterceptor.admit(admission, request, CostEstimator.outputItems(orders));
+    return ResponseEntity.ok(batchOrderService.process(orders));
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.scheduling.FryPlan;
+import com.example.springjqwikdemo.service.scheduling.FryerScheduler;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/planning")
+public class PlanningController {
+
+  private final FryerScheduler scheduler;
+
+  public PlanningController(FryerScheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  @PostMapping
+  public ResponseEntity<FryPlan> plan(@RequestBody List<List<Frituurbaar>> orders) {
+    try {
+      return ResponseEntity.ok(scheduler.plan(orders));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+    }
+  }
+}
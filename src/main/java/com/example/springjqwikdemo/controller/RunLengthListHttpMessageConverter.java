@@ -0,0 +1,63 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.RunLengthList;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link RunLengthList} results as a JSON array straight from pre-encoded UTF-8 blocks,
+ * bypassing the Jackson generator. Produces exactly the bytes Jackson would write for the same
+ * list. Reading is left to the regular JSON converter.
+ */
+@Component
+public class RunLengthListHttpMessageConverter extends AbstractHttpMessageConverter<RunLengthList> {
+
+  public RunLengthListHttpMessageConverter() {
+    super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RunLengthList.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected RunLengthList readInternal(
+      Class<? extends RunLengthList> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(RunLengthList list, MediaType contentType) {
+    long length = 2;
+    for (int run = 0; run < list.runCount(); run++) {
+      length +=
+          JsonRunEncoder.ARRAY_ELEMENTS.length(list.runValue(run), list.runLength(run), run == 0);
+    }
+    return length;
+  }
+
+  @Override
+  protected void writeInternal(RunLengthList list, HttpOutputMessage outputMessage)
+      throws IOException {
+    OutputStream out = new BufferedOutputStream(outputMessage.getBody());
+    out.write('[');
+    for (int run = 0; run < list.runCount(); run++) {
+      JsonRunEncoder.ARRAY_ELEMENTS.write(out, list.runValue(run), list.runLength(run), run == 0);
+    }
+    out.write(']');
+    out.flush();
+  }
+}
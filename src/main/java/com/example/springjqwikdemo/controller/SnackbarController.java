@@ -1,19 +1,41 @@
 package com.example.springjqwikdemo.controller;
 
 import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.ItemCount;
+import com.example.springjqwikdemo.service.CostEstimator;
+import com.example.springjqwikdemo.service.OrderAdmission;
 import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import com.example.springjqwikdemo.service.warmup.WarmupTraffic;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api")
 public class SnackbarController {
 
   private final SnackbarService snackbarService;
+  private final OrderAdmission admission;
+  private final OrderJournal journal;
 
-  public SnackbarController(SnackbarService snackbarService) {
+  public SnackbarController(
+      SnackbarService snackbarService,
+      OrderAdmission admission,
+      ObjectProvider<OrderJournal> journal) {
     this.snackbarService = snackbarService;
+    this.admission = admission;
+    this.journal = journal.getIfAvailable();
   }
 
   @GetMapping("/health")
@@ -27,9 +49,101 @@ public class SnackbarController {
     return ResponseEntity.ok(result);
   }
 
+  @PostMapping(value = "/bakken", params = "format=counts")
+  public ResponseEntity<List<ItemCount>> processWordsCounted(@RequestBody List<String> input) {
+    List<ItemCount> result = snackbarService.processWordsCounted(input);
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping(value = "/bakken", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> processWordsStreaming(InputStream input) {
+    return ndjson(
+        runs -> {
+          try (JsonWordReader words = new JsonWordReader(input)) {
+            snackbarService.forEachWordRun(words.words(), runs);
+          }
+        });
+  }
+
+  @PostMapping(value = "/bakken/text", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<List<ItemCount>> processText(
+      InputStream input, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+      throws IOException {
+    List<ItemCount> result = snackbarService.scanTextCounted(input, charset(contentType));
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping(
+      value = "/bakken/text",
+      consumes = MediaType.TEXT_PLAIN_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> processTextStreaming(
+      InputStream input, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+    return ndjson(runs -> snackbarService.scanText(input, charset(contentType), runs));
+  }
+
   @PostMapping("/frituren")
-  public ResponseEntity<List<String>> processSnacks(@RequestBody List<Frituurbaar> snacks) {
+  public ResponseEntity<List<String>> processSnacks(
+      @RequestBody List<Frituurbaar> snacks, HttpServletRequest request) {
+    AdmissionInterceptor.admit(admission, request, CostEstimator.outputItems(snacks));
+    journal(snacks);
     List<String> result = snackbarService.frituren(snacks);
     return ResponseEntity.ok(result);
   }
+
+  @PostMapping(value = "/frituren", params = "format=counts")
+  public ResponseEntity<List<ItemCount>> processSnacksCounted(
+      @RequestBody List<Frituurbaar> snacks) {
+    journal(snacks);
+    List<ItemCount> result = snackbarService.friturenCounted(snacks);
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping(value = "/frituren", params = "format=totals")
+  public ResponseEntity<List<ItemCount>> processSnacksTotals(
+      @RequestBody List<Frituurbaar> snacks) {
+    journal(snacks);
+    List<ItemCount> result = snackbarService.friturenTotals(snacks);
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping(value = "/frituren", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> processSnacksStreaming(
+      @RequestBody List<Frituurbaar> snacks) {
+    journal(snacks);
+    return ndjson(runs -> snackbarService.forEachRun(snacks, runs));
+  }
+
+  /**
+   * Appends an order to the journal, if there is one, before it is fried. Warm-up orders are
+   * synthetic and would only be replayed as fake sales, so they are left out.
+   */
+  private void journal(List<Frituurbaar> snacks) {
+    if (journal != null && !WarmupTraffic.active()) {
+      journal.append(snacks);
+    }
+  }
+
+  private static ResponseEntity<StreamingResponseBody> ndjson(RunProducer producer) {
+    StreamingResponseBody body =
+        out -> {
+          NdjsonRunWriter writer = new NdjsonRunWriter(out);
+          try {
+            producer.produce(writer);
+          } catch (UncheckedIOException e) {
+            throw e.getCause();
+          }
+          writer.finish();
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  private static Charset charset(MediaType contentType) {
+    Charset charset = contentType.getCharset();
+    return charset != null ? charset : StandardCharsets.UTF_8;
+  }
+
+  private interface RunProducer {
+    void produce(NdjsonRunWriter runs) throws IOException;
+  }
 }
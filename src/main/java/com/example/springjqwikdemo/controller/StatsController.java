@@ -0,0 +1,30 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.stats.RecentStats;
+import com.example.springjqwikdemo.service.stats.SalesStats;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+  private final SalesStats salesStats;
+  private final RecentStats recentStats;
+
+  public StatsController(SalesStats salesStats, RecentStats recentStats) {
+    this.salesStats = salesStats;
+    this.recentStats = recentStats;
+  }
+
+  @GetMapping
+  public ResponseEntity<SalesStats.Snapshot> stats() {
+    return ResponseEntity.ok(salesStats.snapshot());
+  }
+
+  @GetMapping("/recent")
+  public ResponseEntity<List<RecentStats.Window>> recent() {
+    return ResponseEntity.ok(recentStats.windows());
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.springjqwikdemo.controller;
+
+import com.example.springjqwikdemo.service.warmup.WarmupTraffic;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Marks the threads handling a {@link WarmupTraffic warm-up request}: the request thread, and the
+ * thread that writes a streamed response, since the NDJSON endpoints fry while they write.
+ */
+public class WarmupInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+  private static final String WARMUP = WarmupInterceptor.class.getName() + ".warmup";
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (WarmupTraffic.isWarmup(
+        request.getHeader(WarmupTraffic.HEADER), request.getRemoteAddr())) {
+      request.setAttribute(WARMUP, Boolean.TRUE);
+      WarmupTraffic.begin();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    WarmupTraffic.end();
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    WarmupTraffic.end();
+  }
+
+  @Override
+  public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+    if (request.getAttribute(WARMUP, RequestAttributes.SCOPE_REQUEST) != null) {
+      WarmupTraffic.begin();
+    }
+  }
+
+  @Override
+  public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+    WarmupTraffic.end();
+  }
+}
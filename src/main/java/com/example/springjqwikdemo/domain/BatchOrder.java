@@ -0,0 +1,5 @@
+package com.example.springjqwikdemo.domain;
+
+import java.util.List;
+
+public record BatchOrder(String orderId, List<Frituurbaar> items) {}
@@ -0,0 +1,16 @@
+package com.example.springjqwikdemo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchOrderResult(String orderId, List<String> items, String error) {
+
+  public static BatchOrderResult success(String orderId, List<String> items) {
+    return new BatchOrderResult(orderId, items, null);
+  }
+
+  public static BatchOrderResult failure(String orderId, String error) {
+    return new BatchOrderResult(orderId, null, error);
+  }
+}
@@ -0,0 +1,3 @@
+package com.example.springjqwikdemo.domain;
+
+public record ItemCount(String item, long count) {}
@@ -0,0 +1,48 @@
+package com.example.springjqwikdemo.domain;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An order with all lines of the same subtype and {@link Krokettype} merged. Every count is the
+ * number of fried items the merged lines produce, so it is independent of how the client split
+ * the order into lines.
+ */
+public record NormalizedOrder(
+    long pataten,
+    long frikandellen,
+    Map<Krokettype, Long> kroketten,
+    long cervela,
+    long bereklauw) {
+
+  public NormalizedOrder {
+    kroketten =
+        kroketten.isEmpty()
+            ? Collections.emptyMap()
+            : Collections.unmodifiableMap(new EnumMap<>(kroketten));
+  }
+
+  public long kroketten(Krokettype type) {
+    return kroketten.getOrDefault(type, 0L);
+  }
+
+  public long totalItems() {
+    long total = pataten + frikandellen + cervela + bereklauw;
+    for (long count : kroketten.values()) {
+      total += count;
+    }
+    return total;
+  }
+
+  /** The number of lines a compact order needs: one per subtype or kroket type with items. */
+  public int lines() {
+    int lines = kroketten.size();
+    for (long count : new long[] {pataten, frikandellen, cervela, bereklauw}) {
+      if (count > 0) {
+        lines++;
+      }
+    }
+    return lines;
+  }
+}
@@ -0,0 +1,27 @@
+package com.example.springjqwikdemo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/** The state of an order taken in by {@code POST /api/orders}. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderTicket(String orderId, Status status, List<String> items, String error) {
+
+  public enum Status {
+    QUEUED,
+    DONE,
+    FAILED
+  }
+
+  public static OrderTicket queued(String orderId) {
+    return new OrderTicket(orderId, Status.QUEUED, null, null);
+  }
+
+  public static OrderTicket done(String orderId, List<String> items) {
+    return new OrderTicket(orderId, Status.DONE, items, null);
+  }
+
+  public static OrderTicket failed(String orderId, String error) {
+    return new OrderTicket(orderId, Status.FAILED, null, error);
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.BatchOrder;
+import com.example.springjqwikdemo.domain.BatchOrderResult;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BatchOrderService {
+
+  private final SnackbarService snackbarService;
+  private final ExecutorService orderExecutor;
+
+  @Autowired
+  public BatchOrderService(SnackbarService snackbarService, SnackbarProperties properties) {
+    this(snackbarService, newOrderExecutor(properties.batch()));
+  }
+
+  BatchOrderService(SnackbarService snackbarService, ExecutorService orderExecutor) {
+    this.snackbarService = snackbarService;
+    this.orderExecutor = orderExecutor;
+  }
+
+  /**
+   * Fries all orders in parallel and returns one result per order, in request order. An order
+   * that fails gets an error result; the other orders are not affected. A {@code null} entry in
+   * the batch gets an error result without an order id.
+   */
+  public List<BatchOrderResult> process(List<BatchOrder> orders) {
+    List<CompletableFuture<BatchOrderResult>> results = new ArrayList<>(orders.size());
+    for (BatchOrder order : orders) {
+      if (order == null) {
+        results.add(CompletableFuture.completedFuture(BatchOrderResult.failure(null, "No order")));
+        continue;
+      }
+      results.add(
+          CompletableFuture.supplyAsync(() -> fry(order), orderExecutor)
+              .exceptionally(e -> BatchOrderResult.failure(order.orderId(), describe(e))));
+    }
+    return results.stream().map(CompletableFuture::join).toList();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    orderExecutor.shutdown();
+  }
+
+  private BatchOrderResult fry(BatchOrder order) {
+    if (order.items() == null) {
+      return BatchOrderResult.failure(order.orderId(), "Order has no items");
+    }
+    return BatchOrderResult.success(order.orderId(), snackbarService.frituren(order.items()));
+  }
+
+  private static String describe(Throwable e) {
+    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+  }
+
+  /**
+   * Frying is CPU-bound, so the pool is sized to the processors even when request threads are
+   * virtual. When the queue is full the submitting request thread fries the order itself, which
+   * throttles oversized batches.
+   */
+  private static ExecutorService newOrderExecutor(SnackbarProperties.Batch batch) {
+    return new ThreadPoolExecutor(
+        batch.parallelism(),
+        batch.parallelism(),
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(batch.queueCapacity()),
+        new CustomizableThreadFactory("order-"),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.domain.BatchOrder;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import java.util.List;
+
+/**
+ * Estimates what an order costs before anything is fried: the number of items it fries into,
+ * computed from the order lines alone in one pass without allocating.
+ */
+public final class CostEstimator {
+
+  private CostEstimator() {}
+
+  /** The number of items {@link SnackbarService#frituren} returns for the order. */
+  public static long outputItems(List<Frituurbaar> order) {
+    long items = 0;
+    for (Frituurbaar item : order) {
+      items += Math.max(0, SnackbarService.portions(item));
+    }
+    return items;
+  }
+
+  /** The number of items all orders of a batch together fry into. */
+  public static long outputItems(Iterable<BatchOrder> batch) {
+    long items = 0;
+    for (BatchOrder order : batch) {
+      if (order != null && order.items() != null) {
+        items += outputItems(order.items());
+      }
+    }
+    return items;
+  }
+}
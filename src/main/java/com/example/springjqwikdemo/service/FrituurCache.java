@@ -0,0 +1,65 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of fry results for repeated orders. The key is an immutable copy of the order;
+ * the {@code Frituurbaar} records are value types, so equal orders hash and compare equal. Results
+ * are immutable {@link RunLengthList}s shared between all requests for the same order.
+ */
+@Component
+public class FrituurCache {
+
+  private static final FrituurCache DISABLED =
+      new FrituurCache(new SnackbarProperties.Cache(false, 0, 0));
+
+  private final Cache<List<Frituurbaar>, RunLengthList> cache;
+  private final int maxLines;
+
+  public FrituurCache(SnackbarProperties.Cache settings) {
+    this.maxLines = settings.maxLines();
+    this.cache =
+        settings.enabled()
+            ? Caffeine.newBuilder()
+                .maximumWeight(settings.maxWeight())
+                .<List<Frituurbaar>, RunLengthList>weigher(
+                    (order, result) -> order.size() + result.runCount())
+                .recordStats()
+                .build()
+            : null;
+  }
+
+  @Autowired
+  public FrituurCache(SnackbarProperties properties, MeterRegistry registry) {
+    this(properties.cache());
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, "frituren");
+    }
+  }
+
+  public static FrituurCache disabled() {
+    return DISABLED;
+  }
+
+  RunLengthList get(List<Frituurbaar> order, Function<List<Frituurbaar>, RunLengthList> fry) {
+    if (cache == null || order.size() > maxLines) {
+      return fry.apply(order);
+    }
+    return cache.get(List.copyOf(order), fry);
+  }
+
+  /** Hit, miss and eviction counts; all zero when the cache is disabled. */
+  public CacheStats stats() {
+    return cache != null ? cache.stats() : CacheStats.empty();
+  }
+}
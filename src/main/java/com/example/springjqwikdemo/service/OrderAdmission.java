@@ -0,0 +1,180 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control for fry requests. Every admitted order holds its {@link CostEstimator cost}
+ * in output items against a global budget until its response is written. An order that does not
+ * fit waits in a bounded queue for at most {@code max-wait}; when the queue is full or the wait
+ * runs out it is rejected, so an overload turns into fast rejections instead of slow responses.
+ *
+ * <p>Waiting orders are admitted in arrival order: only the oldest waiting order may take budget,
+ * and a new order queues behind it even when it would fit. A large order therefore cannot be
+ * overtaken forever by a stream of small ones; it waits at most for the orders ahead of it.
+ */
+@Component
+public class OrderAdmission {
+
+  private final long budget;
+  private final long maxOrderItems;
+  private final int queueCapacity;
+  private final long maxWaitNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ArrayDeque<Condition> queue = new ArrayDeque<>();
+  private long inFlight;
+  private Counter tooLarge;
+  private Counter overloaded;
+
+  public OrderAdmission(SnackbarProperties.Admission settings) {
+    this.budget = settings.budget();
+    this.maxOrderItems = settings.maxOrderItems();
+    this.queueCapacity = settings.queueCapacity();
+    this.maxWaitNanos = settings.maxWait().toNanos();
+  }
+
+  @Autowired
+  public OrderAdmission(SnackbarProperties properties, MeterRegistry registry) {
+    this(properties.admission());
+    Gauge.builder("snackbar.admission.items", this, OrderAdmission::inFlight)
+        .description("Output items of the orders being fried and written")
+        .register(registry);
+    Gauge.builder("snackbar.admission.waiting", this, OrderAdmission::waiting)
+        .description("Orders waiting for budget")
+        .register(registry);
+    tooLarge = rejected(registry, "too-large");
+    overloaded = rejected(registry, "overloaded");
+  }
+
+  /**
+   * Admits an order of {@code cost} output items, waiting for budget if needed. The returned
+   * permit must be released once the response has been written.
+   *
+   * @throws OrderRejectedException if the order is too large or the budget stays exhausted
+   */
+  public Permit admit(long cost) {
+    if (cost > maxOrderItems) {
+      increment(tooLarge);
+      throw new OrderRejectedException(
+          true, "An order may fry at most " + maxOrderItems + " items, this one fries " + cost);
+    }
+    if (cost <= 0) {
+      return new Permit(0);
+    }
+    lock.lock();
+    try {
+      if (queue.isEmpty() && inFlight + cost <= budget) {
+        inFlight += cost;
+        return new Permit(cost);
+      }
+      if (queue.size() >= queueCapacity) {
+        throw overloaded();
+      }
+      Condition turn = lock.newCondition();
+      queue.addLast(turn);
+      try {
+        long nanos = maxWaitNanos;
+        while (queue.peekFirst() != turn || inFlight + cost > budget) {
+          if (nanos <= 0) {
+            throw overloaded();
+          }
+          nanos = turn.awaitNanos(nanos);
+        }
+        inFlight += cost;
+        return new Permit(cost);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw overloaded();
+      } finally {
+        boolean head = queue.peekFirst() == turn;
+        queue.removeFirstOccurrence(turn);
+        if (head) {
+          signalHead();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The output items currently held by admitted orders. */
+  public long inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The orders currently waiting for budget. */
+  public int waiting() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long cost) {
+    lock.lock();
+    try {
+      inFlight -= cost;
+      signalHead();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Wakes the oldest waiting order, the only one that may take budget next. */
+  private void signalHead() {
+    Condition head = queue.peekFirst();
+    if (head != null) {
+      head.signal();
+    }
+  }
+
+  private OrderRejectedException overloaded() {
+    increment(overloaded);
+    return new OrderRejectedException(false, "Too many items are being fried, try again later");
+  }
+
+  private static Counter rejected(MeterRegistry registry, String reason) {
+    return Counter.builder("snackbar.admission.rejected")
+        .description("Orders rejected by admission control")
+        .tag("reason", reason)
+        .register(registry);
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  /** The budget held by one admitted order. Releasing it more than once has no effect. */
+  public final class Permit {
+
+    private final long cost;
+    private boolean released;
+
+    private Permit(long cost) {
+      this.cost = cost;
+    }
+
+    public void release() {
+      if (!released && cost > 0) {
+        OrderAdmission.this.release(cost);
+      }
+      released = true;
+    }
+  }
+}
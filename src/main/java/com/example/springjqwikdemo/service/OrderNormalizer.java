@@ -0,0 +1,40 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.domain.*;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Merges the lines of an order by subtype and {@link Krokettype}. Counts are accumulated in a
+ * primitive counter per {@link SnackbarService#kind kind} and converted into an {@link EnumMap}
+ * once, so normalizing costs one pass over the lines and no allocation per line.
+ */
+public final class OrderNormalizer {
+
+  private static final Krokettype[] KROKETTYPES = Krokettype.values();
+
+  private OrderNormalizer() {}
+
+  public static NormalizedOrder normalize(List<Frituurbaar> order) {
+    long[] byKind = new long[SnackbarService.KINDS];
+    for (Frituurbaar line : order) {
+      int portions = SnackbarService.portions(line);
+      if (portions > 0) {
+        byKind[SnackbarService.kind(line)] += portions;
+      }
+    }
+    long[] bySubtype = new long[SnackbarService.SUBTYPES.size()];
+    for (int kind = 0; kind < byKind.length; kind++) {
+      bySubtype[SnackbarService.subtype(kind)] += byKind[kind];
+    }
+    EnumMap<Krokettype, Long> byType = new EnumMap<>(Krokettype.class);
+    for (Krokettype type : KROKETTYPES) {
+      long count = byKind[SnackbarService.kind(type)];
+      if (count > 0) {
+        byType.put(type, count);
+      }
+    }
+    // In SUBTYPES order
+    return new NormalizedOrder(bySubtype[0], bySubtype[1], byType, bySubtype[3], bySubtype[4]);
+  }
+}
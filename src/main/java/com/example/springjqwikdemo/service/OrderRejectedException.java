@@ -0,0 +1,17 @@
+package com.example.springjqwikdemo.service;
+
+/** Thrown by {@link OrderAdmission} when an order may not be fried now, or ever. */
+public class OrderRejectedException extends RuntimeException {
+
+  private final boolean tooLarge;
+
+  OrderRejectedException(boolean tooLarge, String message) {
+    super(message);
+    this.tooLarge = tooLarge;
+  }
+
+  /** Whether the order exceeds the limit for a single order, so retrying cannot help. */
+  public boolean tooLarge() {
+    return tooLarge;
+  }
+}
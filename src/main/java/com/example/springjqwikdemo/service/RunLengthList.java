@@ -0,0 +1,159 @@
+package com.example.springjqwikdemo.service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Read-only list made of runs of one repeated value, like a concatenation of {@code
+ * Collections.nCopies} segments. Memory is proportional to the number of runs; {@code size()} is
+ * O(1) and {@code get(i)} is O(log runs).
+ */
+public final class RunLengthList extends AbstractList<String> implements RandomAccess {
+
+  private static final RunLengthList EMPTY = new RunLengthList(new String[0], new int[0], 0);
+
+  private final String[] values;
+  private final int[] ends;
+  private final int runCount;
+
+  private RunLengthList(String[] values, int[] ends, int runCount) {
+    this.values = values;
+    this.ends = ends;
+    this.runCount = runCount;
+  }
+
+  public static RunLengthList empty() {
+    return EMPTY;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public int size() {
+    return runCount == 0 ? 0 : ends[runCount - 1];
+  }
+
+  @Override
+  public String get(int index) {
+    Objects.checkIndex(index, size());
+    return values[runContaining(index)];
+  }
+
+  public int runCount() {
+    return runCount;
+  }
+
+  public String runValue(int run) {
+    Objects.checkIndex(run, runCount);
+    return values[run];
+  }
+
+  public int runLength(int run) {
+    Objects.checkIndex(run, runCount);
+    return run == 0 ? ends[0] : ends[run] - ends[run - 1];
+  }
+
+  public void forEachRun(ObjIntConsumer<String> runs) {
+    for (int run = 0; run < runCount; run++) {
+      runs.accept(values[run], runLength(run));
+    }
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<>() {
+      private int index;
+      private int run;
+
+      @Override
+      public boolean hasNext() {
+        return run < runCount;
+      }
+
+      @Override
+      public String next() {
+        if (run >= runCount) {
+          throw new NoSuchElementException();
+        }
+        String value = values[run];
+        if (++index == ends[run]) {
+          run++;
+        }
+        return value;
+      }
+    };
+  }
+
+  private int runContaining(int index) {
+    int low = 0;
+    int high = runCount - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (ends[mid] <= index) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Collects runs in order; consecutive runs of an equal value are merged into one. */
+  public static final class Builder implements ObjIntConsumer<String> {
+
+    private String[] values = new String[8];
+    private int[] ends = new int[8];
+    private int runCount;
+    private int size;
+
+    private Builder() {}
+
+    @Override
+    public void accept(String value, int count) {
+      add(value, count);
+    }
+
+    public Builder add(String value, int count) {
+      if (count <= 0) {
+        return this;
+      }
+      try {
+        size = Math.addExact(size, count);
+      } catch (ArithmeticException e) {
+        throw new IllegalArgumentException("Result exceeds the maximum list size", e);
+      }
+      if (runCount > 0 && values[runCount - 1].equals(value)) {
+        ends[runCount - 1] = size;
+        return this;
+      }
+      if (runCount == values.length) {
+        values = Arrays.copyOf(values, runCount * 2);
+        ends = Arrays.copyOf(ends, runCount * 2);
+      }
+      values[runCount] = Objects.requireNonNull(value);
+      ends[runCount] = size;
+      runCount++;
+      return this;
+    }
+
+    public Builder addAll(RunLengthList list) {
+      list.forEachRun(this);
+      return this;
+    }
+
+    public RunLengthList build() {
+      if (runCount == 0) {
+        return EMPTY;
+      }
+      return new RunLengthList(
+          Arrays.copyOf(values, runCount), Arrays.copyOf(ends, runCount), runCount);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import java.util.List;
+
+/**
+ * Gets told about every request {@link SnackbarService} has handled, with the time the service
+ * spent on it in nanoseconds. Called synchronously on the request thread, so implementations have
+ * to be cheap and thread-safe.
+ */
+public interface SnackbarListener {
+
+  default void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {}
+
+  default void wordsProcessed(long words, long potatoWords, long outputItems, long nanos) {}
+}
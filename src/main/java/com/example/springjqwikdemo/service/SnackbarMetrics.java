@@ -0,0 +1,83 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.Krokettype;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer instrumentation of the snack service. All meters are registered up front and kept
+ * in arrays, so recording an order is a few additions without any tag lookups.
+ */
+@Component
+public class SnackbarMetrics implements SnackbarListener {
+
+  private static final Krokettype[] KROKETTYPES = Krokettype.values();
+
+  // Per kind, its subtype counter and, for kroketten, its krokettype counter
+  private final Counter[] friedByKind = new Counter[SnackbarService.KINDS];
+  private final Counter[] kroketsByKind = new Counter[SnackbarService.KINDS];
+  private final DistributionSummary friturenLines;
+  private final DistributionSummary friturenItems;
+  private final DistributionSummary bakkenWords;
+  private final DistributionSummary bakkenItems;
+
+  public SnackbarMetrics(MeterRegistry registry) {
+    Counter[] bySubtype = new Counter[SnackbarService.SUBTYPES.size()];
+    for (int i = 0; i < bySubtype.length; i++) {
+      bySubtype[i] =
+          Counter.builder("snackbar.fried.items")
+              .description("Fried items per snack subtype")
+              .tag("type", SnackbarService.SUBTYPES.get(i))
+              .register(registry);
+    }
+    for (int kind = 0; kind < friedByKind.length; kind++) {
+      friedByKind[kind] = bySubtype[SnackbarService.subtype(kind)];
+    }
+    for (Krokettype type : KROKETTYPES) {
+      kroketsByKind[SnackbarService.kind(type)] =
+          Counter.builder("snackbar.fried.kroketten")
+              .description("Fried kroketten per kroket type")
+              .tag("krokettype", type.name())
+              .register(registry);
+    }
+    friturenLines = summary(registry, "snackbar.request.lines", "frituren", "Order lines");
+    friturenItems = summary(registry, "snackbar.request.items", "frituren", "Fried items");
+    bakkenWords = summary(registry, "snackbar.request.lines", "bakken", "Input words");
+    bakkenItems = summary(registry, "snackbar.request.items", "bakken", "Fried items");
+  }
+
+  @Override
+  public void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {
+    for (Frituurbaar line : order) {
+      int portions = SnackbarService.portions(line);
+      if (portions > 0) {
+        int kind = SnackbarService.kind(line);
+        friedByKind[kind].increment(portions);
+        if (kroketsByKind[kind] != null) {
+          kroketsByKind[kind].increment(portions);
+        }
+      }
+    }
+    friturenLines.record(order.size());
+    friturenItems.record(outputItems);
+  }
+
+  @Override
+  public void wordsProcessed(long words, long potatoWords, long outputItems, long nanos) {
+    bakkenWords.record(words);
+    bakkenItems.record(outputItems);
+  }
+
+  private static DistributionSummary summary(
+      MeterRegistry registry, String name, String endpoint, String description) {
+    return DistributionSummary.builder(name)
+        .description(description + " per request")
+        .tag("endpoint", endpoint)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
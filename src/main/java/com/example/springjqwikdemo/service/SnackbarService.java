@@ -1,63 +1,356 @@
 package com.example.springjqwikdemo.service;
 
+import com.example.springjqwikdemo.config.SnackbarProperties;
 import com.example.springjqwikdemo.domain.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SnackbarService {
 
-  public List<String> processWords(List<String> input) {
-    List<String> result = new ArrayList<>();
-    for (String word : input) {
-      // Bug: Case-sensitive comparison - "Aardappel" or "AARDAPPEL" won't match
-      // Bug: Empty strings pass the null check but have length 0
-      // Bug: What about whitespace? " aardappel " won't match
-      // Bug: What about unicode variations? "aardappel" vs "ааrdарреl" (cyrillic a)
-      if (word != null && (word.equals("aardappel") || word.equals("pieper"))) {
-        int length = word.length();
-        for (int i = 0; i < length; i++) {
-          result.add("friet");
-        }
-      }
+  public static final String FRIET = "friet";
+  public static final String AARDAPPELPORTIE = "gefrituurde aardappelportie";
+  public static final String FRIKANDEL = "gefrituurde frikandel";
+  public static final String CERVELA = "gefrituurde cervela";
+  public static final String BEREKLAUW = "gefrituurde bereklauw";
+
+  /** The subtypes, indexed by {@link #subtype(int)}. */
+  public static final List<String> SUBTYPES =
+      List.of("pataten", "frikandellen", "kroketten", "cervela", "bereklauw");
+
+  private static final Krokettype[] KROKETTYPES = Krokettype.values();
+  private static final int KROKETTEN = 2;
+
+  /**
+   * The number of kinds of fried item, see {@link #kind(Frituurbaar)}: one per subtype, and one
+   * per {@link Krokettype} for kroketten.
+   */
+  public static final int KINDS = SUBTYPES.size() - 1 + KROKETTYPES.length;
+
+  private static final String[] KIND_LABELS = new String[KINDS];
+
+  static {
+    KIND_LABELS[0] = AARDAPPELPORTIE;
+    KIND_LABELS[1] = FRIKANDEL;
+    for (Krokettype type : KROKETTYPES) {
+      KIND_LABELS[kind(type)] = "gefrituurde " + getKroketTypeName(type) + " kroket";
     }
+    KIND_LABELS[KINDS - 2] = CERVELA;
+    KIND_LABELS[KINDS - 1] = BEREKLAUW;
+  }
+
+  private final List<SnackbarListener> listeners;
+  private final SnackbarProperties.Frituren settings;
+  private final FrituurCache cache;
+  private final WordMatcher matcher;
+
+  public SnackbarService() {
+    this(List.of());
+  }
+
+  public SnackbarService(List<SnackbarListener> listeners) {
+    this(listeners, new SnackbarProperties.Frituren(0, 0));
+  }
+
+  public SnackbarService(List<SnackbarListener> listeners, SnackbarProperties.Frituren settings) {
+    this(listeners, settings, FrituurCache.disabled());
+  }
+
+  public SnackbarService(
+      List<SnackbarListener> listeners, SnackbarProperties.Frituren settings, FrituurCache cache) {
+    this(listeners, settings, cache, WordMatcher.defaults());
+  }
+
+  public SnackbarService(
+      List<SnackbarListener> listeners,
+      SnackbarProperties.Frituren settings,
+      FrituurCache cache,
+      WordMatcher matcher) {
+    this.listeners = List.copyOf(listeners);
+    this.settings = settings;
+    this.cache = cache;
+    this.matcher = matcher;
+  }
+
+  @Autowired
+  public SnackbarService(
+      ObjectProvider<SnackbarListener> listeners,
+      SnackbarProperties properties,
+      FrituurCache cache) {
+    this(
+        listeners.orderedStream().toList(),
+        properties.frituren(),
+        cache,
+        WordMatcher.compile(properties.bakken().words()));
+  }
+
+  /**
+   * The built-in items: every item frituren can produce, and friet, which the default potato words
+   * fry into. Items of potato words configured under {@code snackbar.bakken.words} are not in this
+   * list. The order is fixed, since the binary format refers to items by their index in it.
+   */
+  public static List<String> vocabulary() {
+    List<String> items = new ArrayList<>(KINDS + 1);
+    items.add(FRIET);
+    items.addAll(List.of(KIND_LABELS));
+    return List.copyOf(items);
+  }
+
+  public List<String> processWords(List<String> input) {
+    RunLengthList.Builder result = RunLengthList.builder();
+    forEachWordRun(input, result);
+    return result.build();
+  }
+
+  public List<ItemCount> processWordsCounted(List<String> input) {
+    List<ItemCount> result = new ArrayList<>();
+    forEachWordRun(input, (item, count) -> addRun(result, item, count));
     return result;
   }
 
+  /**
+   * Repeated orders are answered from the {@link FrituurCache}. Orders of at least {@code
+   * snackbar.frituren.parallel-threshold} lines are split into chunks that are fried in parallel
+   * on the common fork-join pool and concatenated in order.
+   */
   public List<String> frituren(List<Frituurbaar> items) {
-    List<String> result = new ArrayList<>();
-    for (Frituurbaar item : items) {
-      switch (item) {
-        case Pataten p -> {
-          int portions = Math.max(1, p.size() / 10);
-          for (int i = 0; i < portions; i++) {
-            result.add("gefrituurde aardappelportie");
-          }
-        }
-        case Frikandellen f -> {
-          for (int i = 0; i < f.count(); i++) {
-            result.add("gefrituurde frikandel");
-          }
-        }
-        case Kroketten k -> {
-          String typeName = getKroketTypeName(k.type());
-          for (int i = 0; i < k.count(); i++) {
-            result.add("gefrituurde " + typeName + " kroket");
-          }
-        }
-        case Cervela c -> {
-          result.add("gefrituurde cervela");
-        }
-        case Bereklauw b -> {
-          result.add("gefrituurde bereklauw");
-        }
+    long started = System.nanoTime();
+    RunLengthList result = cache.get(items, this::fry);
+    orderFried(items, result.size(), started);
+    return result;
+  }
+
+  private RunLengthList fry(List<Frituurbaar> items) {
+    if (items.size() < settings.parallelThreshold()) {
+      RunLengthList.Builder result = RunLengthList.builder();
+      for (Frituurbaar item : items) {
+        fry(item, result);
       }
+      return result.build();
     }
+    List<Frituurbaar> lines = items instanceof RandomAccess ? items : new ArrayList<>(items);
+    return ForkJoinPool.commonPool()
+        .invoke(new FryTask(lines, 0, lines.size(), settings.chunkSize()));
+  }
+
+  public List<ItemCount> friturenCounted(List<Frituurbaar> items) {
+    List<ItemCount> result = new ArrayList<>();
+    forEachRun(items, (item, count) -> addRun(result, item, count));
     return result;
   }
 
-  private String getKroketTypeName(Krokettype type) {
+  /**
+   * Totals an order per item: the lines are merged by {@link OrderNormalizer} first, so the result
+   * has one entry per subtype, kroketten in {@link Krokettype} order, however the client split the
+   * order into lines. Equal to {@code friturenCounted} up to grouping.
+   */
+  public List<ItemCount> friturenTotals(List<Frituurbaar> items) {
+    long started = System.nanoTime();
+    NormalizedOrder order = OrderNormalizer.normalize(items);
+    List<ItemCount> result = new ArrayList<>(order.lines());
+    forEachRun(order, (item, count) -> result.add(new ItemCount(item, count)));
+    orderFried(items, order.totalItems(), started);
+    return result;
+  }
+
+  private static void forEachRun(NormalizedOrder order, ObjLongConsumer<String> runs) {
+    emit(runs, AARDAPPELPORTIE, order.pataten());
+    emit(runs, FRIKANDEL, order.frikandellen());
+    for (Krokettype type : KROKETTYPES) {
+      emit(runs, kroketLabel(type), order.kroketten(type));
+    }
+    emit(runs, CERVELA, order.cervela());
+    emit(runs, BEREKLAUW, order.bereklauw());
+  }
+
+  private static void emit(ObjLongConsumer<String> runs, String item, long count) {
+    if (count > 0) {
+      runs.accept(item, count);
+    }
+  }
+
+  /**
+   * Reports the output of every input word as a run of identical items, in input order. Words
+   * are looked up in the {@link WordMatcher}; words that match nothing, including null, are
+   * skipped.
+   */
+  public void forEachWordRun(Iterable<String> input, ObjIntConsumer<String> runs) {
+    long started = System.nanoTime();
+    long words = 0;
+    long matches = 0;
+    long output = 0;
+    for (String word : input) {
+      words++;
+      int match = matcher.match(word);
+      if (match != WordMatcher.NO_MATCH) {
+        matches++;
+        int count = matcher.count(match);
+        runs.accept(matcher.item(match), count);
+        output += count;
+      }
+    }
+    wordsProcessed(words, matches, output, started);
+  }
+
+  /**
+   * Scans free text for potato words and reports every match as a run, in text order. Words are
+   * separated by anything that is not a letter or digit; the text is decoded in fixed-size chunks,
+   * so the input can be of any size.
+   */
+  public void scanText(InputStream text, Charset charset, ObjIntConsumer<String> runs)
+      throws IOException {
+    long started = System.nanoTime();
+    TextScanner scanner = new TextScanner(matcher, runs);
+    scanner.scan(Channels.newChannel(text), charset);
+    wordsProcessed(scanner.words(), scanner.matches(), scanner.output(), started);
+  }
+
+  /** Scans free text like {@link #scanText}, totalling the items per item. */
+  public List<ItemCount> scanTextCounted(InputStream text, Charset charset) throws IOException {
+    long started = System.nanoTime();
+    TextScanner scanner = new TextScanner(matcher, (item, count) -> {});
+    scanner.scan(Channels.newChannel(text), charset);
+    wordsProcessed(scanner.words(), scanner.matches(), scanner.output(), started);
+    return scanner.totals();
+  }
+
+  /**
+   * Scans a local file like {@link #scanText}. The file is memory-mapped in windows instead of
+   * read through the heap.
+   */
+  public void scanFile(Path file, Charset charset, ObjIntConsumer<String> runs)
+      throws IOException {
+    long started = System.nanoTime();
+    TextScanner scanner = new TextScanner(matcher, runs);
+    try (FileChannel channel = FileChannel.open(file)) {
+      scanner.scan(channel, charset, TextScanner.MAPPED_WINDOW);
+    }
+    wordsProcessed(scanner.words(), scanner.matches(), scanner.output(), started);
+  }
+
+  /** Scans a local file like {@link #scanFile}, totalling the items per item. */
+  public List<ItemCount> scanFileCounted(Path file, Charset charset) throws IOException {
+    long started = System.nanoTime();
+    TextScanner scanner = new TextScanner(matcher, (item, count) -> {});
+    try (FileChannel channel = FileChannel.open(file)) {
+      scanner.scan(channel, charset, TextScanner.MAPPED_WINDOW);
+    }
+    wordsProcessed(scanner.words(), scanner.matches(), scanner.output(), started);
+    return scanner.totals();
+  }
+
+  private void wordsProcessed(long words, long matches, long output, long started) {
+    long nanos = System.nanoTime() - started;
+    for (SnackbarListener listener : listeners) {
+      listener.wordsProcessed(words, matches, output, nanos);
+    }
+  }
+
+  /**
+   * Reports the output of every order line as a run of identical items, in order. Runs with a
+   * count of zero or less are skipped, exactly like the expanded list would contain no items.
+   */
+  public void forEachRun(List<Frituurbaar> items, ObjIntConsumer<String> runs) {
+    long started = System.nanoTime();
+    long output = 0;
+    for (Frituurbaar item : items) {
+      output += fry(item, runs);
+    }
+    orderFried(items, output, started);
+  }
+
+  private void orderFried(List<Frituurbaar> items, long output, long started) {
+    long nanos = System.nanoTime() - started;
+    for (SnackbarListener listener : listeners) {
+      listener.orderFried(items, output, nanos);
+    }
+  }
+
+  private static int fry(Frituurbaar item, ObjIntConsumer<String> runs) {
+    int portions = portions(item);
+    if (portions <= 0) {
+      return 0;
+    }
+    runs.accept(label(item), portions);
+    return portions;
+  }
+
+  /** The number of items one order line fries into; zero or less means none. */
+  public static int portions(Frituurbaar item) {
+    return switch (item) {
+      case Pataten p -> Math.max(1, p.size() / 10);
+      case Frikandellen f -> f.count();
+      case Kroketten k -> k.count();
+      case Cervela c -> 1;
+      case Bereklauw b -> 1;
+    };
+  }
+
+  /** The item one order line fries into. */
+  public static String label(Frituurbaar item) {
+    return KIND_LABELS[kind(item)];
+  }
+
+  /** The item every line of a kind fries into. */
+  public static String label(int kind) {
+    return KIND_LABELS[kind];
+  }
+
+  public static String kroketLabel(Krokettype type) {
+    return KIND_LABELS[kind(type)];
+  }
+
+  /**
+   * The kind of item one order line fries into, from 0 to {@link #KINDS} - 1: pataten,
+   * frikandellen, the kroketten in {@link Krokettype} order, cervela and bereklauw. Counters and
+   * tables per item can be arrays indexed by kind.
+   */
+  public static int kind(Frituurbaar item) {
+    return switch (item) {
+      case Pataten p -> 0;
+      case Frikandellen f -> 1;
+      case Kroketten k -> kind(k.type());
+      case Cervela c -> KINDS - 2;
+      case Bereklauw b -> KINDS - 1;
+    };
+  }
+
+  public static int kind(Krokettype type) {
+    return KROKETTEN + type.ordinal();
+  }
+
+  /** The index in {@link #SUBTYPES} of the subtype of a kind; all kroketten share one. */
+  public static int subtype(int kind) {
+    if (kind < KROKETTEN) {
+      return kind;
+    }
+    return kind < KROKETTEN + KROKETTYPES.length ? KROKETTEN : kind - KROKETTYPES.length + 1;
+  }
+
+  private static void addRun(List<ItemCount> runs, String item, long count) {
+    int last = runs.size() - 1;
+    if (last >= 0 && runs.get(last).item().equals(item)) {
+      runs.set(last, new ItemCount(item, runs.get(last).count() + count));
+    } else {
+      runs.add(new ItemCount(item, count));
+    }
+  }
+
+  private static String getKroketTypeName(Krokettype type) {
     return switch (type) {
       case KAAS -> "kaas";
       case KALF -> "kalfs";
@@ -67,4 +360,36 @@ public class SnackbarService {
       case GEZOND -> "gezonde";
     };
   }
+
+  private static final class FryTask extends RecursiveTask<RunLengthList> {
+
+    private final List<Frituurbaar> lines;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    FryTask(List<Frituurbaar> lines, int from, int to, int chunkSize) {
+      this.lines = lines;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected RunLengthList compute() {
+      if (to - from <= chunkSize) {
+        RunLengthList.Builder chunk = RunLengthList.builder();
+        for (int i = from; i < to; i++) {
+          fry(lines.get(i), chunk);
+        }
+        return chunk.build();
+      }
+      int middle = (from + to) >>> 1;
+      FryTask left = new FryTask(lines, from, middle, chunkSize);
+      FryTask right = new FryTask(lines, middle, to, chunkSize);
+      left.fork();
+      RunLengthList rightResult = right.compute();
+      return RunLengthList.builder().addAll(left.join()).addAll(rightResult).build();
+    }
+  }
 }
@@ -0,0 +1,174 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.domain.ItemCount;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Scans free text for the potato words of a {@link WordMatcher}. The text is split into words at
+ * every character that is not a letter or digit, and each word is matched while it is read by
+ * walking the trie one character at a time. Only the current trie node is kept between chunks, so
+ * no word is ever built as a String and the heap stays constant however large the text is.
+ *
+ * <p>This is the Aho-Corasick automaton for whole-word patterns: a mismatch can only continue at
+ * the next word boundary, where every failure link would point back to the root anyway.
+ */
+final class TextScanner {
+
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  /** The part of a file that is mapped at once, small enough for 32-bit address spaces too. */
+  static final long MAPPED_WINDOW = 64L * 1024 * 1024;
+
+  private final WordMatcher matcher;
+  private final ObjIntConsumer<String> runs;
+  private final long[] hits;
+  private boolean inWord;
+  private int node;
+  private long words;
+  private long matches;
+  private long output;
+
+  TextScanner(WordMatcher matcher, ObjIntConsumer<String> runs) {
+    this.matcher = matcher;
+    this.runs = runs;
+    this.hits = new long[matcher.size()];
+  }
+
+  /** Reads and scans the channel to its end. */
+  void scan(ReadableByteChannel in, Charset charset) throws IOException {
+    CharsetDecoder decoder = decoder(charset);
+    ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    boolean endOfInput = false;
+    while (!endOfInput) {
+      endOfInput = in.read(bytes) < 0;
+      bytes.flip();
+      decode(decoder, bytes, chars, endOfInput);
+      bytes.compact();
+    }
+    finish(decoder, chars);
+  }
+
+  /**
+   * Scans a file through memory-mapped windows of at most {@code window} bytes. A character that
+   * is cut off at the end of a window is decoded again at the start of the next one.
+   */
+  void scan(FileChannel file, Charset charset, long window) throws IOException {
+    if (window < 16) {
+      throw new IllegalArgumentException("The mapped window must hold at least 16 bytes");
+    }
+    CharsetDecoder decoder = decoder(charset);
+    CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    long size = file.size();
+    long position = 0;
+    do {
+      long length = Math.min(window, size - position);
+      MappedByteBuffer bytes = file.map(FileChannel.MapMode.READ_ONLY, position, length);
+      decode(decoder, bytes, chars, position + length == size);
+      position += bytes.position();
+    } while (position < size);
+    finish(decoder, chars);
+  }
+
+  /** The number of words in the text, matching or not. */
+  long words() {
+    return words;
+  }
+
+  /** The number of potato words in the text. */
+  long matches() {
+    return matches;
+  }
+
+  /** The number of items all matches fried into. */
+  long output() {
+    return output;
+  }
+
+  /** The items of all matches, totalled per item in dictionary order. */
+  List<ItemCount> totals() {
+    Map<String, Long> totals = new LinkedHashMap<>();
+    for (int match = 0; match < hits.length; match++) {
+      if (hits[match] > 0) {
+        totals.merge(matcher.item(match), hits[match] * matcher.count(match), Long::sum);
+      }
+    }
+    List<ItemCount> result = new ArrayList<>(totals.size());
+    totals.forEach((item, count) -> result.add(new ItemCount(item, count)));
+    return result;
+  }
+
+  private void decode(
+      CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars, boolean endOfInput) {
+    CoderResult result;
+    do {
+      result = decoder.decode(bytes, chars, endOfInput);
+      accept(chars);
+    } while (result.isOverflow());
+  }
+
+  private void finish(CharsetDecoder decoder, CharBuffer chars) {
+    decoder.flush(chars);
+    accept(chars);
+    if (inWord) {
+      endWord();
+    }
+  }
+
+  private void accept(CharBuffer chars) {
+    chars.flip();
+    char[] array = chars.array();
+    for (int i = chars.arrayOffset(), end = i + chars.limit(); i < end; i++) {
+      accept(array[i]);
+    }
+    chars.clear();
+  }
+
+  private void accept(char c) {
+    if (Character.isLetterOrDigit(c)) {
+      if (!inWord) {
+        inWord = true;
+        node = 0;
+        words++;
+      }
+      if (node != WordMatcher.NO_MATCH) {
+        node = matcher.next(node, c);
+      }
+    } else if (inWord) {
+      endWord();
+    }
+  }
+
+  private void endWord() {
+    inWord = false;
+    int match = matcher.matchAt(node);
+    if (match != WordMatcher.NO_MATCH) {
+      hits[match]++;
+      matches++;
+      int count = matcher.count(match);
+      runs.accept(matcher.item(match), count);
+      output += count;
+    }
+  }
+
+  private static CharsetDecoder decoder(Charset charset) {
+    return charset
+        .newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+}
@@ -0,0 +1,185 @@
+package com.example.springjqwikdemo.service;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Recognizes the potato words of {@code /bakken}. The dictionary is compiled once into a trie over
+ * folded characters, stored in flat arrays: the edges of a node are a sorted slice of {@code
+ * labels}. Matching skips surrounding whitespace, folds every character on the fly and walks the
+ * trie, so it allocates nothing and takes time proportional to the length of the word, however
+ * large the dictionary is.
+ */
+public final class WordMatcher {
+
+  public static final int NO_MATCH = -1;
+
+  private static final WordMatcher DEFAULTS =
+      compile(new SnackbarProperties.Bakken(List.of()).words());
+
+  private final int[] edgeStart;
+  private final char[] labels;
+  private final int[] targets;
+  private final int[] matches;
+  private final String[] items;
+  private final int[] counts;
+
+  private WordMatcher(
+      int[] edgeStart, char[] labels, int[] targets, int[] matches, String[] items, int[] counts) {
+    this.edgeStart = edgeStart;
+    this.labels = labels;
+    this.targets = targets;
+    this.matches = matches;
+    this.items = items;
+    this.counts = counts;
+  }
+
+  /** Matches aardappel and pieper, each frying into as many friet as the word has letters. */
+  public static WordMatcher defaults() {
+    return DEFAULTS;
+  }
+
+  public static WordMatcher compile(List<SnackbarProperties.Word> words) {
+    List<TreeMap<Character, Integer>> children = new ArrayList<>();
+    List<Integer> nodeMatches = new ArrayList<>();
+    children.add(new TreeMap<>());
+    nodeMatches.add(NO_MATCH);
+    for (int w = 0; w < words.size(); w++) {
+      String word = words.get(w).word();
+      int node = 0;
+      int end = trimEnd(word);
+      for (int i = trimStart(word, end); i < end; i++) {
+        char c = fold(word.charAt(i));
+        Integer child = children.get(node).get(c);
+        if (child == null) {
+          child = children.size();
+          children.add(new TreeMap<>());
+          nodeMatches.add(NO_MATCH);
+          children.get(node).put(c, child);
+        }
+        node = child;
+      }
+      if (nodeMatches.get(node) != NO_MATCH) {
+        throw new IllegalArgumentException("Duplicate potato word: " + word);
+      }
+      nodeMatches.set(node, w);
+    }
+
+    int nodes = children.size();
+    int[] edgeStart = new int[nodes + 1];
+    char[] labels = new char[nodes - 1];
+    int[] targets = new int[nodes - 1];
+    int[] matches = new int[nodes];
+    int edge = 0;
+    for (int node = 0; node < nodes; node++) {
+      edgeStart[node] = edge;
+      matches[node] = nodeMatches.get(node);
+      for (var child : children.get(node).entrySet()) {
+        labels[edge] = child.getKey();
+        targets[edge] = child.getValue();
+        edge++;
+      }
+    }
+    edgeStart[nodes] = edge;
+
+    String[] items = new String[words.size()];
+    int[] counts = new int[words.size()];
+    for (int w = 0; w < words.size(); w++) {
+      items[w] = words.get(w).item();
+      counts[w] = words.get(w).count();
+    }
+    return new WordMatcher(edgeStart, labels, targets, matches, items, counts);
+  }
+
+  /** The index of the dictionary word that {@code word} matches, or {@link #NO_MATCH}. */
+  public int match(CharSequence word) {
+    if (word == null) {
+      return NO_MATCH;
+    }
+    int end = trimEnd(word);
+    int node = 0;
+    for (int i = trimStart(word, end); i < end && node >= 0; i++) {
+      node = child(node, fold(word.charAt(i)));
+    }
+    return node > 0 ? matches[node] : NO_MATCH;
+  }
+
+  /** The item a match fries into. */
+  public String item(int match) {
+    return items[match];
+  }
+
+  /** The number of items a match fries into, always positive. */
+  public int count(int match) {
+    return counts[match];
+  }
+
+  /** The number of dictionary words. */
+  int size() {
+    return items.length;
+  }
+
+  /**
+   * Walks one character from a trie node, starting at 0 for the root. Returns {@link #NO_MATCH}
+   * when no dictionary word continues with {@code c}.
+   */
+  int next(int node, char c) {
+    return child(node, fold(c));
+  }
+
+  /** The dictionary word that ends at a trie node, or {@link #NO_MATCH}. */
+  int matchAt(int node) {
+    return node > 0 ? matches[node] : NO_MATCH;
+  }
+
+  private int child(int node, char c) {
+    int edge = Arrays.binarySearch(labels, edgeStart[node], edgeStart[node + 1], c);
+    return edge >= 0 ? targets[edge] : NO_MATCH;
+  }
+
+  /**
+   * Folds a character to the form the dictionary is stored in: lower case, with Cyrillic and Greek
+   * letters that look like Latin ones replaced by those.
+   */
+  static char fold(char c) {
+    char lower = Character.toLowerCase(c);
+    return switch (lower) {
+      case '\u0430' -> 'a'; // Cyrillic a
+      case '\u0441' -> 'c'; // Cyrillic es
+      case '\u0501' -> 'd'; // Cyrillic komi de
+      case '\u0435' -> 'e'; // Cyrillic ie
+      case '\u04bb' -> 'h'; // Cyrillic shha
+      case '\u0456' -> 'i'; // Cyrillic byelorussian-ukrainian i
+      case '\u0458' -> 'j'; // Cyrillic je
+      case '\u043e', '\u03bf' -> 'o'; // Cyrillic o, Greek omicron
+      case '\u0440', '\u03c1' -> 'p'; // Cyrillic er, Greek rho
+      case '\u0455' -> 's'; // Cyrillic dze
+      case '\u0445' -> 'x'; // Cyrillic ha
+      case '\u0443' -> 'y'; // Cyrillic u
+      default -> lower;
+    };
+  }
+
+  private static int trimStart(CharSequence word, int end) {
+    int start = 0;
+    while (start < end && isSpace(word.charAt(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimEnd(CharSequence word) {
+    int end = word.length();
+    while (end > 0 && isSpace(word.charAt(end - 1))) {
+      end--;
+    }
+    return end;
+  }
+
+  private static boolean isSpace(char c) {
+    return Character.isWhitespace(c) || Character.isSpaceChar(c);
+  }
+}
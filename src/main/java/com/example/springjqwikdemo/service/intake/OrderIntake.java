@@ -0,0 +1,298 @@
+package com.example.springjqwikdemo.service.intake;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.OrderTicket;
+import com.example.springjqwikdemo.service.OrderAdmission;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous order intake. Orders are queued on an {@link OrderRing} and fried by a fixed set of
+ * worker threads; callers get a ticket at once and look up the result later. When the ring is full
+ * an order is refused instead of queued, so the backlog and the waiting time stay bounded.
+ *
+ * <p>With an {@link OrderJournal} every accepted order is appended to it before it is queued, so
+ * no worker fries an order that is not in the journal, and an acknowledged order is on disk when
+ * the journal waits for commits. A slot in the ring is reserved before the append, so an order
+ * that made it into the journal is never refused afterwards.
+ *
+ * <p>Idle workers spin briefly, then yield, then wait on a condition until an order is submitted.
+ * Producers only take the lock to wake a worker when one is actually waiting.
+ *
+ * <p>The workers run while the application context does. They start before the web server
+ * accepts requests and stop after it no longer does; orders still in the ring then fail.
+ */
+@Component
+public class OrderIntake implements SmartLifecycle {
+
+  private static final int SPINS = 100;
+  private static final int YIELDS = 10;
+  // Starts before the web server (DEFAULT_PHASE - 2048) and stops after it
+  private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  private final SnackbarService snackbarService;
+  private final OrderJournal journal;
+  private final OrderRing ring;
+  private final Cache<String, OrderTicket> tickets;
+  private final Map<String, OrderAdmission.Permit> permits = new ConcurrentHashMap<>();
+  private final int workerCount;
+  private final ReentrantLock idleLock = new ReentrantLock();
+  private final Condition submitted = idleLock.newCondition();
+  private final AtomicInteger idleWorkers = new AtomicInteger();
+  // Orders holding a slot: queued, being journaled, or just taken by a worker
+  private final AtomicInteger reserved = new AtomicInteger();
+  private Thread[] workers;
+  private volatile boolean running;
+  private Counter refused;
+
+  public OrderIntake(SnackbarService snackbarService, SnackbarProperties.Intake settings) {
+    this(snackbarService, settings, null);
+  }
+
+  public OrderIntake(
+      SnackbarService snackbarService, SnackbarProperties.Intake settings, OrderJournal journal) {
+    this.snackbarService = snackbarService;
+    this.journal = journal;
+    this.ring = new OrderRing(settings.capacity());
+    this.tickets =
+        Caffeine.newBuilder()
+            .expireAfterWrite(settings.retention())
+            .maximumSize(settings.maxTickets())
+            .build();
+    this.workerCount = settings.workers();
+  }
+
+  @Autowired
+  public OrderIntake(
+      SnackbarService snackbarService,
+      SnackbarProperties properties,
+      ObjectProvider<OrderJournal> journal,
+      MeterRegistry registry) {
+    this(snackbarService, properties.intake(), journal.getIfAvailable());
+    Gauge.builder("snackbar.intake.queued", ring, OrderRing::size)
+        .description("Orders waiting in the intake ring")
+        .register(registry);
+    refused =
+        Counter.builder("snackbar.intake.refused")
+            .description("Orders refused because the intake ring was full")
+            .register(registry);
+  }
+
+  /** Queues an order and returns its ticket, or nothing when the ring is full. */
+  public Optional<OrderTicket> submit(List<Frituurbaar> order) {
+    return submit(order, null);
+  }
+
+  /**
+   * Queues an order like {@link #submit(List)}, holding its admission permit until a worker has
+   * fried it. The permit is released at once when the ring is full or the order cannot be
+   * journaled.
+   *
+   * @throws java.io.UncheckedIOException if the journal could not take the order
+   */
+  public Optional<OrderTicket> submit(List<Frituurbaar> order, OrderAdmission.Permit permit) {
+    if (!reserve()) {
+      if (permit != null) {
+        permit.release();
+      }
+      if (refused != null) {
+        refused.increment();
+      }
+      return Optional.empty();
+    }
+    String id = UUID.randomUUID().toString();
+    OrderTicket ticket = OrderTicket.queued(id);
+    tickets.put(id, ticket);
+    if (permit != null) {
+      permits.put(id, permit);
+    }
+    if (journal != null) {
+      try {
+        journal.append(order);
+      } catch (RuntimeException e) {
+        tickets.invalidate(id);
+        release(id);
+        reserved.decrementAndGet();
+        throw e;
+      }
+    }
+    while (!ring.offer(id, order)) {
+      // The reserved slot is still being freed by a worker that just took its order
+      Thread.onSpinWait();
+    }
+    if (idleWorkers.get() > 0) {
+      idleLock.lock();
+      try {
+        submitted.signal();
+      } finally {
+        idleLock.unlock();
+      }
+    }
+    return Optional.of(ticket);
+  }
+
+  /** The current ticket for an order, or nothing once it has expired or was never issued. */
+  public Optional<OrderTicket> ticket(String orderId) {
+    return Optional.ofNullable(tickets.getIfPresent(orderId));
+  }
+
+  /** The orders waiting for a worker. */
+  public int queued() {
+    return ring.size();
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    workers = new Thread[workerCount];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = Thread.ofPlatform().name("intake-" + i).daemon().start(this::work);
+    }
+  }
+
+  /**
+   * Stops the workers. Orders still in the ring are not fried: their tickets fail and their
+   * permits are released.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    idleLock.lock();
+    try {
+      submitted.signalAll();
+    } finally {
+      idleLock.unlock();
+    }
+    boolean interrupted = false;
+    for (Thread worker : workers) {
+      try {
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    OrderRing.Consumer drop =
+        (id, order) -> {
+          reserved.decrementAndGet();
+          tickets.put(id, OrderTicket.failed(id, "The intake was stopped"));
+          release(id);
+        };
+    while (ring.poll(drop)) {
+      // Drain the orders no worker took
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  private void work() {
+    OrderRing.Consumer fry = this::fry;
+    int idle = 0;
+    while (running) {
+      if (ring.poll(fry)) {
+        idle = 0;
+      } else if (idle < SPINS) {
+        idle++;
+        Thread.onSpinWait();
+      } else if (idle < SPINS + YIELDS) {
+        idle++;
+        Thread.yield();
+      } else {
+        awaitOrder();
+        idle = 0;
+      }
+    }
+  }
+
+  /**
+   * Waits until an order may be in the ring. The worker registers as idle before it checks the
+   * ring, and producers check for idle workers after publishing, so one of them always sees the
+   * other and no wake-up is lost.
+   */
+  private void awaitOrder() {
+    idleLock.lock();
+    try {
+      idleWorkers.incrementAndGet();
+      try {
+        while (running && ring.size() == 0) {
+          submitted.awaitUninterruptibly();
+        }
+      } finally {
+        idleWorkers.decrementAndGet();
+      }
+    } finally {
+      idleLock.unlock();
+    }
+  }
+
+  /**
+   * Claims a slot in the ring for one order. The ring frees a slot before handing its order to the
+   * consumer, which only then gives up the reservation, so a reserved offer finds a free slot.
+   */
+  private boolean reserve() {
+    int current = reserved.get();
+    while (current < ring.capacity()) {
+      if (reserved.compareAndSet(current, current + 1)) {
+        return true;
+      }
+      current = reserved.get();
+    }
+    return false;
+  }
+
+  private void fry(String id, List<Frituurbaar> order) {
+    reserved.decrementAndGet();
+    OrderTicket result;
+    try {
+      result = OrderTicket.done(id, snackbarService.frituren(order));
+    } catch (RuntimeException e) {
+      result =
+          OrderTicket.failed(
+              id, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+    }
+    tickets.put(id, result);
+    release(id);
+  }
+
+  private void release(String id) {
+    OrderAdmission.Permit permit = permits.remove(id);
+    if (permit != null) {
+      permit.release();
+    }
+  }
+}
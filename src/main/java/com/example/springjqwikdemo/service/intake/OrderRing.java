@@ -0,0 +1,165 @@
+package com.example.springjqwikdemo.service.intake;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+/**
+ * A bounded, lock-free queue of orders for any number of producers and consumers (Vyukov's
+ * array queue). All slots are allocated up front; every slot carries a sequence number that tells
+ * producers and consumers whose turn it is, so neither side ever takes a lock or allocates. The
+ * head and tail counters are padded onto their own cache lines so producers and consumers do not
+ * contend on them.
+ */
+public final class OrderRing extends RingTail {
+
+  private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+  /** Receives a polled order once its slot has been handed back to the producers. */
+  @FunctionalInterface
+  public interface Consumer {
+    void accept(String id, List<Frituurbaar> order);
+  }
+
+  private final int mask;
+  private final long[] sequences;
+  private final String[] ids;
+  private final Object[] orders;
+
+  /**
+   * Creates a ring of {@code capacity} slots, rounded up to a power of two and at least two: with
+   * a single slot a full and an empty ring would carry the same sequence number.
+   */
+  public OrderRing(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+    }
+    int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+    mask = size - 1;
+    sequences = new long[size];
+    ids = new String[size];
+    orders = new Object[size];
+    for (int i = 0; i < size; i++) {
+      sequences[i] = i;
+    }
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /** Adds an order, or returns {@code false} at once when the ring is full. */
+  public boolean offer(String id, List<Frituurbaar> order) {
+    long position = tail();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = (long) SEQUENCE.getAcquire(sequences, index) - position;
+      if (difference == 0) {
+        if (casTail(position, position + 1)) {
+          ids[index] = id;
+          orders[index] = order;
+          SEQUENCE.setRelease(sequences, index, position + 1);
+          return true;
+        }
+        position = tail();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail();
+      }
+    }
+  }
+
+  /**
+   * Takes the oldest order and passes it to {@code consumer}, or returns {@code false} at once when
+   * the ring is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public boolean poll(Consumer consumer) {
+    long position = head();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = (long) SEQUENCE.getAcquire(sequences, index) - (position + 1);
+      if (difference == 0) {
+        if (casHead(position, position + 1)) {
+          String id = ids[index];
+          List<Frituurbaar> order = (List<Frituurbaar>) orders[index];
+          ids[index] = null;
+          orders[index] = null;
+          SEQUENCE.setRelease(sequences, index, position + mask + 1);
+          consumer.accept(id, order);
+          return true;
+        }
+        position = head();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = head();
+      }
+    }
+  }
+
+  /** The number of queued orders; only a snapshot while producers and consumers are busy. */
+  public int size() {
+    long head = head();
+    long tail = tail();
+    return (int) Math.max(0, Math.min(tail - head, capacity()));
+  }
+}
+
+abstract class RingPadding {
+  long p01, p02, p03, p04, p05, p06, p07, p08;
+}
+
+abstract class RingHead extends RingPadding {
+
+  private static final VarHandle HEAD;
+
+  static {
+    try {
+      HEAD = MethodHandles.lookup().findVarHandle(RingHead.class, "head", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile long head;
+
+  final long head() {
+    return head;
+  }
+
+  final boolean casHead(long expected, long next) {
+    return HEAD.compareAndSet(this, expected, next);
+  }
+}
+
+abstract class RingHeadPadding extends RingHead {
+  long p11, p12, p13, p14, p15, p16, p17, p18;
+}
+
+abstract class RingTail extends RingHeadPadding {
+
+  private static final VarHandle TAIL;
+
+  static {
+    try {
+      TAIL = MethodHandles.lookup().findVarHandle(RingTail.class, "tail", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private volatile long tail;
+
+  final long tail() {
+    return tail;
+  }
+
+  final boolean casTail(long expected, long next) {
+    return TAIL.compareAndSet(this, expected, next);
+  }
+
+  long p21, p22, p23, p24, p25, p26, p27, p28;
+}
@@ -0,0 +1,436 @@
+package com.example.springjqwikdemo.service.journal;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.controller.FrituurCodec;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only journal of the orders taken in by the {@link
+ * com.example.springjqwikdemo.service.intake.OrderIntake intake} and fried by {@code /frituren},
+ * in memory-mapped segment files.
+ *
+ * <p>A segment starts with a magic number and the sequence number of its first record. Every record
+ * is the payload length, a CRC32C of the payload, the sequence number and the timestamp, followed
+ * by the order in the {@link FrituurCodec} layout. Orders are encoded before the lock is taken, so
+ * the lock only covers copying the bytes into the mapped segment.
+ *
+ * <p>Writes become durable through group commit: a flusher thread forces everything written since
+ * its previous force, and all appenders waiting for records in that range are released together.
+ * An idle journal forces a lone order at once; under load one force covers many orders. A full
+ * segment is handed to the flusher as well, so rolling over never forces under the lock. If a
+ * force fails the journal stops: appenders waiting for it and every later append throw, so no
+ * order is acknowledged that may not be on disk.
+ *
+ * <p>On startup every segment is read to verify it and to find the next sequence number. A torn
+ * record at the end of the last segment ends that segment, and writing continues in a new one.
+ */
+@Component
+@ConditionalOnProperty(prefix = "snackbar.journal", name = "enabled", havingValue = "true")
+public class OrderJournal implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderJournal.class);
+
+  static final String SUFFIX = ".journal";
+  static final int MAGIC = 0x46524a31;
+  static final int SEGMENT_HEADER = Integer.BYTES + Long.BYTES;
+  static final int RECORD_HEADER = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+  /** One journaled order. */
+  public record Entry(long sequence, Instant timestamp, List<Frituurbaar> order) {}
+
+  private final Path directory;
+  private final int segmentSize;
+  private final boolean waitForCommit;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition written = lock.newCondition();
+  private final Condition committed = lock.newCondition();
+  private final Thread flusher;
+  private final ArrayDeque<Segment> full = new ArrayDeque<>();
+  private Segment active;
+  private long nextSequence;
+  private long committedSequence;
+  private boolean closing;
+  private boolean closed;
+  private IOException failure;
+
+  public OrderJournal(SnackbarProperties.Journal settings) throws IOException {
+    this.directory = settings.directory();
+    this.segmentSize = (int) settings.segmentSize().toBytes();
+    this.waitForCommit = settings.waitForCommit();
+    Files.createDirectories(directory);
+    long started = System.nanoTime();
+    nextSequence = replaySegments(0, Integer.MAX_VALUE, null, null);
+    committedSequence = nextSequence - 1;
+    log.info(
+        "Journal {} verified up to order {} in {} ms",
+        directory,
+        nextSequence,
+        (System.nanoTime() - started) / 1_000_000);
+    active = Segment.create(directory, nextSequence, segmentSize);
+    flusher = Thread.ofPlatform().name("journal-flusher").daemon().start(this::flush);
+  }
+
+  @Autowired
+  public OrderJournal(SnackbarProperties properties) throws IOException {
+    this(properties.journal());
+  }
+
+  /**
+   * Appends an order and returns its sequence number. With {@code wait-for-commit} the call returns
+   * once the order is on disk.
+   *
+   * @throws UncheckedIOException if the order could not be written, or the journal failed to force
+   *     earlier orders
+   */
+  public long append(List<Frituurbaar> order) {
+    ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+    try {
+      FrituurCodec.writeOrder(order, payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    byte[] bytes = payload.toByteArray();
+    CRC32C crc = new CRC32C();
+    crc.update(bytes);
+    long timestamp = System.currentTimeMillis();
+
+    long sequence;
+    lock.lock();
+    try {
+      if (failure != null) {
+        throw new UncheckedIOException("The journal failed", failure);
+      }
+      if (closing) {
+        throw new IllegalStateException("The journal is closed");
+      }
+      if (active.buffer.remaining() < RECORD_HEADER + bytes.length) {
+        roll(RECORD_HEADER + bytes.length);
+      }
+      sequence = nextSequence++;
+      active.buffer
+          .putInt(bytes.length)
+          .putInt((int) crc.getValue())
+          .putLong(sequence)
+          .putLong(timestamp)
+          .put(bytes);
+      written.signal();
+      if (waitForCommit) {
+        while (committedSequence < sequence && !closed && failure == null) {
+          committed.awaitUninterruptibly();
+        }
+        if (committedSequence < sequence && failure != null) {
+          throw new UncheckedIOException("The journal failed", failure);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+    return sequence;
+  }
+
+  /**
+   * Passes every journaled order from {@code fromSequence} on to {@code consumer}, oldest first,
+   * and returns the number passed. Orders appended while the replay runs are not included.
+   */
+  public long replay(long fromSequence, Consumer<Entry> consumer) throws IOException {
+    Path activePath;
+    int activeLimit;
+    lock.lock();
+    try {
+      activePath = active.path;
+      activeLimit = active.buffer.position();
+    } finally {
+      lock.unlock();
+    }
+    long[] count = new long[1];
+    replaySegments(
+        fromSequence,
+        activeLimit,
+        activePath,
+        entry -> {
+          count[0]++;
+          consumer.accept(entry);
+        });
+    return count[0];
+  }
+
+  /** The sequence number the next order gets. */
+  public long nextSequence() {
+    lock.lock();
+    try {
+      return nextSequence;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Stops the flusher and forces what is left to disk. */
+  @Override
+  @PreDestroy
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      if (closing) {
+        return;
+      }
+      closing = true;
+      written.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    lock.lock();
+    try {
+      for (Segment segment : full) {
+        segment.close();
+      }
+      full.clear();
+      active.close();
+      committedSequence = nextSequence - 1;
+      closed = true;
+      committed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Continues in a new segment with room for {@code recordSize}. The full segment is forced and
+   * closed by the flusher.
+   */
+  private void roll(int recordSize) throws IOException {
+    full.add(active);
+    active =
+        Segment.create(directory, nextSequence, Math.max(segmentSize, SEGMENT_HEADER + recordSize));
+  }
+
+  private void flush() {
+    List<Segment> toClose = new ArrayList<>();
+    while (true) {
+      Segment segment;
+      int from;
+      int to;
+      long upTo;
+      lock.lock();
+      try {
+        while (committedSequence == nextSequence - 1 && full.isEmpty() && !closing) {
+          written.awaitUninterruptibly();
+        }
+        if (closing) {
+          return;
+        }
+        toClose.addAll(full);
+        full.clear();
+        segment = active;
+        from = segment.flushed;
+        to = segment.buffer.position();
+        upTo = nextSequence - 1;
+      } finally {
+        lock.unlock();
+      }
+      // Forcing outside the lock lets appenders keep writing; they join the next group
+      try {
+        for (Segment old : toClose) {
+          old.close();
+        }
+        toClose.clear();
+        segment.buffer.force(from, to - from);
+      } catch (IOException | UncheckedIOException e) {
+        fail(e instanceof UncheckedIOException unchecked ? unchecked.getCause() : (IOException) e);
+        return;
+      }
+      lock.lock();
+      try {
+        segment.flushed = Math.max(segment.flushed, to);
+        committedSequence = Math.max(committedSequence, upTo);
+        committed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** Stops committing and wakes every appender, which then throws {@code failure}. */
+  private void fail(IOException failure) {
+    log.error(
+        "Journal {} failed to force its segments, no more orders are accepted", directory, failure);
+    lock.lock();
+    try {
+      this.failure = failure;
+      committed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads the segments in order up to {@code lastPath}, or all of them when it is {@code null},
+   * and returns the sequence number after the last valid record. Without a consumer the records
+   * are only verified, not decoded.
+   */
+  private long replaySegments(
+      long fromSequence, int lastLimit, Path lastPath, Consumer<Entry> consumer)
+      throws IOException {
+    List<Path> segments;
+    try (Stream<Path> files = Files.list(directory)) {
+      segments = files.filter(file -> file.toString().endsWith(SUFFIX)).sorted().toList();
+    }
+    long expected = -1;
+    for (int i = 0; i < segments.size(); i++) {
+      Path path = segments.get(i);
+      boolean last = path.equals(lastPath);
+      if (!last
+          && i + 1 < segments.size()
+          && firstSequence(segments.get(i + 1)) <= fromSequence) {
+        expected = -1;
+        continue;
+      }
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        long size = Math.min(channel.size(), last ? lastLimit : Integer.MAX_VALUE);
+        if (size < SEGMENT_HEADER) {
+          continue;
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (buffer.getInt() != MAGIC) {
+          throw new IOException("Not a journal segment: " + path);
+        }
+        long first = buffer.getLong();
+        if (expected >= 0 && first != expected) {
+          throw new IOException(
+              "Journal segment " + path + " starts at " + first + " instead of " + expected);
+        }
+        expected = readRecords(buffer, first, fromSequence, consumer);
+      }
+      if (last) {
+        break;
+      }
+    }
+    return Math.max(expected, 0);
+  }
+
+  /** Reads records until the first invalid one and returns the sequence number after it. */
+  private static long readRecords(
+      ByteBuffer buffer, long sequence, long fromSequence, Consumer<Entry> consumer)
+      throws IOException {
+    CRC32C crc = new CRC32C();
+    while (buffer.remaining() >= RECORD_HEADER) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      long recordSequence = buffer.getLong();
+      long timestamp = buffer.getLong();
+      if (length <= 0 || length > buffer.remaining() || recordSequence != sequence) {
+        break;
+      }
+      ByteBuffer payload = buffer.slice(buffer.position(), length);
+      crc.reset();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      buffer.position(buffer.position() + length);
+      if (consumer != null && sequence >= fromSequence) {
+        List<Frituurbaar> order = FrituurCodec.readOrder(new ByteBufferInputStream(payload));
+        consumer.accept(new Entry(sequence, Instant.ofEpochMilli(timestamp), order));
+      }
+      sequence++;
+    }
+    return sequence;
+  }
+
+  static long firstSequence(Path segment) {
+    String name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  /** The segment being written, with the part of it that is known to be on disk. */
+  private static final class Segment {
+
+    final Path path;
+    final FileChannel channel;
+    final MappedByteBuffer buffer;
+    int flushed;
+
+    private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+      this.flushed = buffer.position();
+    }
+
+    static Segment create(Path directory, long firstSequence, int size) throws IOException {
+      Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+      FileChannel channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+      buffer.putInt(MAGIC).putLong(firstSequence);
+      return new Segment(path, channel, buffer);
+    }
+
+    void close() throws IOException {
+      buffer.force(flushed, buffer.position() - flushed);
+      flushed = buffer.position();
+      channel.close();
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, n);
+      return n;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.springjqwikdemo.service.scheduling;
+
+import java.util.List;
+
+/**
+ * A kitchen plan for a sequence of orders.
+ *
+ * @param baskets every basket, ordered by start time
+ * @param makespanMillis when the last basket is done
+ * @param utilization the fraction of the fryer time up to the makespan spent frying
+ * @param fill the fraction of the planned basket capacity that is used
+ * @param orderReadyMillis per order, when its last basket is done; 0 for orders without items
+ */
+public record FryPlan(
+    List<PlannedBasket> baskets,
+    long makespanMillis,
+    double utilization,
+    double fill,
+    List<Long> orderReadyMillis) {}
@@ -0,0 +1,224 @@
+package com.example.springjqwikdemo.service.scheduling;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plans a sequence of orders onto the baskets of a kitchen.
+ *
+ * <p>Items are packed per kind: identical items of consecutive orders share an open basket until
+ * it is full (next fit), so three kaaskroketten of one order and five of the next fry together.
+ * The baskets are then started in the order of the first order they serve, each on the fryer that
+ * comes free first, kept in a binary heap. Both steps are linear in the order lines apart from a
+ * sort and the heap, so a plan of tens of thousands of orders takes milliseconds.
+ */
+@Component
+public class FryerScheduler {
+
+  private static final int KINDS = SnackbarService.KINDS;
+
+  private final int fryers;
+  private final int maxBaskets;
+  private final String[] items = new String[KINDS];
+  private final long[] fryMillis = new long[KINDS];
+  private final int[] capacities = new int[KINDS];
+
+  public FryerScheduler(SnackbarProperties.Planning settings) {
+    this.fryers = settings.fryers();
+    this.maxBaskets = settings.maxBaskets();
+    // In SnackbarService.SUBTYPES order
+    SnackbarProperties.Basket[] bySubtype = {
+      settings.pataten(),
+      settings.frikandellen(),
+      settings.kroketten(),
+      settings.cervela(),
+      settings.bereklauw()
+    };
+    for (int kind = 0; kind < KINDS; kind++) {
+      SnackbarProperties.Basket basket = bySubtype[SnackbarService.subtype(kind)];
+      items[kind] = SnackbarService.label(kind);
+      fryMillis[kind] = basket.fryTime().toMillis();
+      capacities[kind] = basket.capacity();
+    }
+  }
+
+  @Autowired
+  public FryerScheduler(SnackbarProperties properties) {
+    this(properties.planning());
+  }
+
+  /**
+   * Plans the orders in the given order. Every item {@link SnackbarService#frituren} fries for an
+   * order ends up in exactly one basket.
+   *
+   * @throws IllegalArgumentException if the plan needs more than {@code max-baskets} baskets
+   */
+  public FryPlan plan(List<List<Frituurbaar>> orders) {
+    List<Basket> baskets = new ArrayList<>();
+    Basket[] open = new Basket[KINDS];
+    for (int order = 0; order < orders.size(); order++) {
+      for (Frituurbaar line : orders.get(order)) {
+        int kind = SnackbarService.kind(line);
+        int remaining = Math.max(0, SnackbarService.portions(line));
+        while (remaining > 0) {
+          Basket basket = open[kind];
+          if (basket == null) {
+            if (baskets.size() == maxBaskets) {
+              throw new IllegalArgumentException(
+                  "The orders need more than " + maxBaskets + " baskets");
+            }
+            basket = new Basket(kind, order);
+            baskets.add(basket);
+            open[kind] = basket;
+          }
+          int added = Math.min(remaining, capacities[kind] - basket.quantity);
+          basket.add(order, added);
+          remaining -= added;
+          if (basket.quantity == capacities[kind]) {
+            open[kind] = null;
+          }
+        }
+      }
+    }
+    // Stable, so baskets of the same first order keep the order in which they were opened
+    baskets.sort(Comparator.comparingInt(basket -> basket.firstOrder));
+    return schedule(baskets, orders.size());
+  }
+
+  private FryPlan schedule(List<Basket> baskets, int orderCount) {
+    FryerHeap heap = new FryerHeap(fryers);
+    long[] ready = new long[orderCount];
+    List<PlannedBasket> planned = new ArrayList<>(baskets.size());
+    long makespan = 0;
+    long busy = 0;
+    long quantity = 0;
+    long capacity = 0;
+    for (Basket basket : baskets) {
+      int fryer = heap.earliest();
+      long start = heap.freeAt(fryer);
+      long end = start + fryMillis[basket.kind];
+      heap.occupy(end);
+      for (int i = 0; i < basket.orderCount; i++) {
+        int order = basket.orders[i];
+        ready[order] = Math.max(ready[order], end);
+      }
+      planned.add(
+          new PlannedBasket(
+              fryer,
+              start,
+              end,
+              items[basket.kind],
+              basket.quantity,
+              capacities[basket.kind],
+              basket.orders()));
+      makespan = Math.max(makespan, end);
+      busy += end - start;
+      quantity += basket.quantity;
+      capacity += capacities[basket.kind];
+    }
+    List<Long> orderReady = new ArrayList<>(orderCount);
+    for (long millis : ready) {
+      orderReady.add(millis);
+    }
+    return new FryPlan(
+        Collections.unmodifiableList(planned),
+        makespan,
+        makespan == 0 ? 0 : (double) busy / ((double) fryers * makespan),
+        capacity == 0 ? 0 : (double) quantity / capacity,
+        Collections.unmodifiableList(orderReady));
+  }
+
+  /** A basket being packed, with the orders that contribute to it. */
+  private static final class Basket {
+
+    final int kind;
+    final int firstOrder;
+    int quantity;
+    int[] orders = new int[2];
+    int orderCount;
+
+    Basket(int kind, int firstOrder) {
+      this.kind = kind;
+      this.firstOrder = firstOrder;
+    }
+
+    void add(int order, int added) {
+      quantity += added;
+      if (orderCount > 0 && orders[orderCount - 1] == order) {
+        return;
+      }
+      if (orderCount == orders.length) {
+        orders = Arrays.copyOf(orders, orderCount * 2);
+      }
+      orders[orderCount++] = order;
+    }
+
+    List<Integer> orders() {
+      List<Integer> list = new ArrayList<>(orderCount);
+      for (int i = 0; i < orderCount; i++) {
+        list.add(orders[i]);
+      }
+      return Collections.unmodifiableList(list);
+    }
+  }
+
+  /**
+   * A binary min-heap of fryers by the time they come free, ties broken by fryer number. The heap
+   * holds fryer numbers; the times live in a separate array.
+   */
+  private static final class FryerHeap {
+
+    private final int[] heap;
+    private final long[] freeAt;
+
+    FryerHeap(int fryers) {
+      heap = new int[fryers];
+      freeAt = new long[fryers];
+      for (int i = 0; i < fryers; i++) {
+        heap[i] = i;
+      }
+    }
+
+    int earliest() {
+      return heap[0];
+    }
+
+    long freeAt(int fryer) {
+      return freeAt[fryer];
+    }
+
+    /** Occupies the earliest fryer until {@code until}. */
+    void occupy(long until) {
+      freeAt[heap[0]] = until;
+      int i = 0;
+      int fryer = heap[0];
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= heap.length) {
+          break;
+        }
+        if (child + 1 < heap.length && before(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!before(heap[child], fryer)) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = fryer;
+    }
+
+    private boolean before(int a, int b) {
+      return freeAt[a] < freeAt[b] || (freeAt[a] == freeAt[b] && a < b);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.example.springjqwikdemo.service.scheduling;
+
+import java.util.List;
+
+/**
+ * One basket in a {@link FryPlan}.
+ *
+ * @param fryer the basket slot it fries in, from 0
+ * @param orders the indexes of the orders whose items it holds, in order
+ */
+public record PlannedBasket(
+    int fryer,
+    long startMillis,
+    long endMillis,
+    String item,
+    int quantity,
+    int capacity,
+    List<Integer> orders) {}
@@ -0,0 +1,65 @@
+package com.example.springjqwikdemo.service.stats;
+
+/**
+ * Bucket arithmetic for log-linear histograms: values below 4 get a bucket each, larger values
+ * four buckets per power of two, so a bucket is at most a quarter of its lower bound wide. 248
+ * buckets cover every non-negative long. Histograms are plain arrays of counts, so merging two is
+ * adding them up.
+ */
+final class LogHistogram {
+
+  static final int BUCKETS = 248;
+
+  private LogHistogram() {}
+
+  static int index(long value) {
+    if (value < 4) {
+      return (int) Math.max(0, value);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    return 4 * (exponent - 1) + (int) ((value >>> (exponent - 2)) & 3);
+  }
+
+  static long lowerBound(int index) {
+    if (index < 4) {
+      return index;
+    }
+    return (4L + index % 4) << (index / 4 - 1);
+  }
+
+  static long upperBound(int index) {
+    if (index < 4) {
+      return index;
+    }
+    return lowerBound(index) + (1L << (index / 4 - 1)) - 1;
+  }
+
+  /** The number of values in the histogram starting at {@code offset}. */
+  static long count(long[] counts, int offset) {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts[offset + i];
+    }
+    return total;
+  }
+
+  /**
+   * The upper bound of the bucket that holds the {@code quantile} of the histogram starting at
+   * {@code offset}, or 0 for an empty histogram.
+   */
+  static long quantile(long[] counts, int offset, double quantile) {
+    long total = count(counts, offset);
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[offset + i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(BUCKETS - 1);
+  }
+}
@@ -0,0 +1,262 @@
+package com.example.springjqwikdemo.service.stats;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.ItemCount;
+import com.example.springjqwikdemo.service.SnackbarListener;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.warmup.WarmupTraffic;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sales over the last 1, 5 and 15 minutes. Time is cut into 10 second buckets kept in a ring that
+ * is allocated once; every bucket holds the word and item totals, the items per kind and
+ * log-linear histograms of output size and latency per endpoint (see {@link LogHistogram}). The
+ * request counts are the totals of the output histograms. Requests of the {@link WarmupTraffic
+ * warm-up} are not counted.
+ *
+ * <p>Recording adds to a handful of slots of the current bucket and allocates nothing. An order
+ * writes each of its kinds once, however many lines it has. Every request thread touches the same
+ * totals, so these are kept in 16 stripes, picked by thread and at least a cache line apart,
+ * and summed when read; the histograms spread their writes over their buckets.
+ *
+ * <p>The first writer in a new bucket clears what the bucket held a full rotation ago; other
+ * writers wait for that clear, readers never do. A query sums the buckets of its window and skips
+ * a bucket that is recycled while it is being read.
+ */
+@Component
+public class RecentStats implements SnackbarListener {
+
+  static final long BUCKET_MILLIS = 10_000;
+  // 15 minutes plus the bucket being filled
+  static final int BUCKETS = 91;
+  static final List<Duration> WINDOWS =
+      List.of(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15));
+
+  private static final long CLEARING = Long.MIN_VALUE;
+
+  private static final int STRIPES = 16;
+
+  private static final int ITEMS = 0;
+  private static final int WORDS = 1;
+  private static final int POTATO_WORDS = 2;
+  // One slot per SnackbarService.kind
+  private static final int KINDS = 3;
+  private static final int TOTALS = KINDS + SnackbarService.KINDS;
+  // A cache line of padding keeps neighbouring stripes off each other's lines
+  private static final int STRIPE = TOTALS + 8;
+  private static final int FRITUREN_OUTPUT = STRIPES * STRIPE;
+  private static final int FRITUREN_LATENCY = FRITUREN_OUTPUT + LogHistogram.BUCKETS;
+  private static final int BAKKEN_OUTPUT = FRITUREN_LATENCY + LogHistogram.BUCKETS;
+  private static final int BAKKEN_LATENCY = BAKKEN_OUTPUT + LogHistogram.BUCKETS;
+  private static final int STRIDE = BAKKEN_LATENCY + LogHistogram.BUCKETS;
+
+  private final LongSupplier clock;
+  private final long startedMillis;
+  private final AtomicLongArray slots = new AtomicLongArray(BUCKETS * STRIDE);
+  private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+
+  /**
+   * @param window {@code 1m}, {@code 5m} or {@code 15m}
+   * @param orders fried orders
+   * @param ordersPerSecond orders per second over the window, or since startup if that is shorter
+   * @param items fried items
+   * @param topSnacks fried items per item, most fried first; pataten are counted in portions
+   * @param endpoints requests per endpoint, {@code frituren} and {@code bakken}
+   */
+  public record Window(
+      String window,
+      long orders,
+      double ordersPerSecond,
+      long items,
+      List<ItemCount> topSnacks,
+      Map<String, Endpoint> endpoints) {}
+
+  /** Requests to one endpoint, with percentiles of their output items and service time. */
+  public record Endpoint(long requests, Percentiles outputItems, Percentiles latencyMicros) {}
+
+  /** Upper bounds of the histogram buckets holding each percentile; at most 25% too high. */
+  public record Percentiles(long p50, long p90, long p99, long max) {}
+
+  public RecentStats() {
+    this(System::currentTimeMillis);
+  }
+
+  RecentStats(LongSupplier clock) {
+    this.clock = clock;
+    this.startedMillis = clock.getAsLong();
+    for (int i = 0; i < BUCKETS; i++) {
+      epochs.set(i, -1);
+    }
+  }
+
+  @Override
+  public void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {
+    if (WarmupTraffic.active()) {
+      return;
+    }
+    int base = bucket();
+    if (base < 0) {
+      return;
+    }
+    int stripe = base + stripe();
+    long kinds = 0;
+    for (Frituurbaar line : order) {
+      kinds |= 1L << SnackbarService.kind(line);
+    }
+    for (; kinds != 0; kinds &= kinds - 1) {
+      int kind = Long.numberOfTrailingZeros(kinds);
+      long portions = 0;
+      for (Frituurbaar line : order) {
+        if (SnackbarService.kind(line) == kind) {
+          portions += Math.max(0, SnackbarService.portions(line));
+        }
+      }
+      if (portions > 0) {
+        slots.getAndAdd(stripe + KINDS + kind, portions);
+      }
+    }
+    if (outputItems > 0) {
+      slots.getAndAdd(stripe + ITEMS, outputItems);
+    }
+    slots.incrementAndGet(base + FRITUREN_OUTPUT + LogHistogram.index(outputItems));
+    slots.incrementAndGet(base + FRITUREN_LATENCY + LogHistogram.index(nanos / 1_000));
+  }
+
+  @Override
+  public void wordsProcessed(long words, long potatoWords, long outputItems, long nanos) {
+    if (WarmupTraffic.active()) {
+      return;
+    }
+    int base = bucket();
+    if (base < 0) {
+      return;
+    }
+    int stripe = base + stripe();
+    slots.getAndAdd(stripe + WORDS, words);
+    slots.getAndAdd(stripe + POTATO_WORDS, potatoWords);
+    slots.incrementAndGet(base + BAKKEN_OUTPUT + LogHistogram.index(outputItems));
+    slots.incrementAndGet(base + BAKKEN_LATENCY + LogHistogram.index(nanos / 1_000));
+  }
+
+  /** The 1, 5 and 15 minute windows ending now. */
+  public List<Window> windows() {
+    List<Window> windows = new ArrayList<>(WINDOWS.size());
+    for (Duration window : WINDOWS) {
+      windows.add(window(window));
+    }
+    return windows;
+  }
+
+  /**
+   * The window of whole buckets covering the last {@code window}, up to 15 minutes, including the
+   * bucket being filled.
+   */
+  public Window window(Duration window) {
+    long now = clock.getAsLong();
+    long epoch = now / BUCKET_MILLIS;
+    int buckets = Math.clamp(window.toMillis() / BUCKET_MILLIS, 1, BUCKETS - 1);
+    long[] totals = new long[STRIDE];
+    long[] bucket = new long[STRIDE];
+    for (long e = epoch - buckets + 1; e <= epoch; e++) {
+      int index = (int) Math.floorMod(e, (long) BUCKETS);
+      if (epochs.get(index) != e) {
+        continue;
+      }
+      int base = index * STRIDE;
+      for (int i = 0; i < STRIDE; i++) {
+        bucket[i] = slots.get(base + i);
+      }
+      if (epochs.get(index) != e) {
+        continue;
+      }
+      for (int i = 0; i < STRIDE; i++) {
+        totals[i] += bucket[i];
+      }
+    }
+
+    for (int stripe = 1; stripe < STRIPES; stripe++) {
+      for (int i = 0; i < TOTALS; i++) {
+        totals[i] += totals[stripe * STRIPE + i];
+      }
+    }
+    long orders = LogHistogram.count(totals, FRITUREN_OUTPUT);
+
+    long from = Math.max(startedMillis, (epoch - buckets + 1) * BUCKET_MILLIS);
+    double seconds = Math.max(1, now - from) / 1000.0;
+    List<ItemCount> topSnacks = new ArrayList<>();
+    for (int kind = 0; kind < SnackbarService.KINDS; kind++) {
+      if (totals[KINDS + kind] > 0) {
+        topSnacks.add(new ItemCount(SnackbarService.label(kind), totals[KINDS + kind]));
+      }
+    }
+    topSnacks.sort(Comparator.comparingLong(ItemCount::count).reversed());
+    Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    endpoints.put(
+        "frituren",
+        new Endpoint(
+            orders,
+            percentiles(totals, FRITUREN_OUTPUT),
+            percentiles(totals, FRITUREN_LATENCY)));
+    endpoints.put(
+        "bakken",
+        new Endpoint(
+            LogHistogram.count(totals, BAKKEN_OUTPUT),
+            percentiles(totals, BAKKEN_OUTPUT),
+            percentiles(totals, BAKKEN_LATENCY)));
+    return new Window(
+        window.toMinutes() + "m",
+        orders,
+        orders / seconds,
+        totals[ITEMS],
+        List.copyOf(topSnacks),
+        endpoints);
+  }
+
+  /**
+   * The offset of the current bucket, cleared first if it still holds an older epoch, or -1 when
+   * the clock went back past a bucket that has already moved on.
+   */
+  private int bucket() {
+    long epoch = clock.getAsLong() / BUCKET_MILLIS;
+    int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+    int base = index * STRIDE;
+    long current = epochs.get(index);
+    while (current != epoch) {
+      if (current > epoch) {
+        return -1;
+      }
+      if (current != CLEARING && epochs.compareAndSet(index, current, CLEARING)) {
+        for (int i = 0; i < STRIDE; i++) {
+          slots.set(base + i, 0);
+        }
+        epochs.set(index, epoch);
+        return base;
+      }
+      Thread.onSpinWait();
+      current = epochs.get(index);
+    }
+    return base;
+  }
+
+  /** The stripe of the calling thread, spreading consecutive thread ids over all stripes. */
+  private static int stripe() {
+    long mixed = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+    return (int) (mixed >>> (64 - Integer.numberOfTrailingZeros(STRIPES))) * STRIPE;
+  }
+
+  private static Percentiles percentiles(long[] totals, int histogram) {
+    return new Percentiles(
+        LogHistogram.quantile(totals, histogram, 0.5),
+        LogHistogram.quantile(totals, histogram, 0.9),
+        LogHistogram.quantile(totals, histogram, 0.99),
+        LogHistogram.quantile(totals, histogram, 1.0));
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.springjqwikdemo.service.stats;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.Krokettype;
+import com.example.springjqwikdemo.service.SnackbarListener;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.warmup.WarmupTraffic;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Running sales totals since startup. Every slot is a {@link LongAdder}, which spreads concurrent
+ * updates over per-thread cells instead of contending on one value, so request threads never wait
+ * for each other here. Slots are indexed by {@link SnackbarService#kind kind}, and an order is
+ * counted line by line without allocating. Requests of the {@link WarmupTraffic warm-up} are not
+ * counted.
+ */
+@Component
+public class SalesStats implements SnackbarListener {
+
+  private static final Krokettype[] KROKETTYPES = Krokettype.values();
+
+  private final LongAdder orders = new LongAdder();
+  private final LongAdder items = new LongAdder();
+  private final LongAdder[] byKind = adders(SnackbarService.KINDS);
+  private final LongAdder words = new LongAdder();
+  private final LongAdder potatoWords = new LongAdder();
+
+  /**
+   * @param orders fried orders
+   * @param items fried items
+   * @param subtypes fried items per subtype; pataten are counted in portions
+   * @param kroketten fried kroketten per {@link Krokettype}
+   * @param words words seen by the {@code /bakken} endpoints
+   * @param potatoWords the potato words among them
+   */
+  public record Snapshot(
+      long orders,
+      long items,
+      Map<String, Long> subtypes,
+      Map<Krokettype, Long> kroketten,
+      long words,
+      long potatoWords) {}
+
+  @Override
+  public void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {
+    if (WarmupTraffic.active()) {
+      return;
+    }
+    for (Frituurbaar line : order) {
+      int portions = SnackbarService.portions(line);
+      if (portions > 0) {
+        byKind[SnackbarService.kind(line)].add(portions);
+      }
+    }
+    orders.increment();
+    items.add(outputItems);
+  }
+
+  @Override
+  public void wordsProcessed(long words, long potatoWords, long outputItems, long nanos) {
+    if (WarmupTraffic.active()) {
+      return;
+    }
+    this.words.add(words);
+    this.potatoWords.add(potatoWords);
+  }
+
+  /**
+   * The current totals. Slots are read one after another while updates go on, so totals of
+   * different slots may be a few orders apart.
+   */
+  public Snapshot snapshot() {
+    Map<String, Long> subtypes = new LinkedHashMap<>();
+    for (String subtype : SnackbarService.SUBTYPES) {
+      subtypes.put(subtype, 0L);
+    }
+    for (int kind = 0; kind < byKind.length; kind++) {
+      String subtype = SnackbarService.SUBTYPES.get(SnackbarService.subtype(kind));
+      subtypes.merge(subtype, byKind[kind].sum(), Long::sum);
+    }
+    Map<Krokettype, Long> kroketten = new LinkedHashMap<>();
+    for (Krokettype type : KROKETTYPES) {
+      kroketten.put(type, byKind[SnackbarService.kind(type)].sum());
+    }
+    return new Snapshot(
+        orders.sum(), items.sum(), subtypes, kroketten, words.sum(), potatoWords.sum());
+  }
+
+  private static LongAdder[] adders(int count) {
+    LongAdder[] adders = new LongAdder[count];
+    for (int i = 0; i < count; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+}
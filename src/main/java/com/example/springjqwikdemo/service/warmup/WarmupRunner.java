@@ -0,0 +1,194 @@
+package com.example.springjqwikdemo.service.warmup;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.controller.FrituurCodec;
+import com.example.springjqwikdemo.controller.FrituurHttpMessageConverter;
+import com.example.springjqwikdemo.domain.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends synthetic requests to the application's own endpoints over the loopback interface before
+ * it reports readiness, so the JIT has compiled the request path before real traffic arrives.
+ * Spring Boot marks the application ready only after all runners have finished.
+ *
+ * <p>Requests rotate over {@code /frituren} and {@code /bakken} in every representation: JSON,
+ * item counts, NDJSON streams, the binary format and plain text. Every order holds each subtype
+ * and each {@link Krokettype} with random sizes, in random order, so most orders miss the cache and
+ * are really fried.
+ *
+ * <p>Every request carries {@link WarmupTraffic#HEADER}, so the sales stats leave it out; the
+ * Micrometer meters count it like the HTTP request metrics do. The warm-up only uses endpoints
+ * that fry on the spot, so none of its orders reach the intake or the journal.
+ */
+@Component
+@ConditionalOnProperty(prefix = "snackbar.warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+  private static final String[] OTHER_WORDS = {
+    "kapsalon", "bitterbal", "mayonaise", "frikandel", "speciaal", "Aardappelen", "PIEPER", ""
+  };
+  private static final int REQUEST_KINDS = 8;
+
+  private final SnackbarProperties.Warmup settings;
+  private final List<String> potatoWords;
+  private final ObjectMapper objectMapper;
+  private final Environment environment;
+
+  public WarmupRunner(
+      SnackbarProperties properties, ObjectMapper objectMapper, Environment environment) {
+    this.settings = properties.warmup();
+    this.potatoWords =
+        properties.bakken().words().stream().map(SnackbarProperties.Word::word).toList();
+    this.objectMapper = objectMapper;
+    this.environment = environment;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws InterruptedException {
+    int port = environment.getProperty("local.server.port", Integer.class, 0);
+    if (port <= 0) {
+      log.info("No web server is running, skipping the warm-up");
+      return;
+    }
+    URI api = URI.create("http://localhost:" + port + "/api/");
+    long started = System.nanoTime();
+    long deadline = started + settings.duration().toNanos();
+    AtomicInteger issued = new AtomicInteger();
+    AtomicInteger sent = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client =
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(threads).build();
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < settings.concurrency(); i++) {
+        senders.submit(
+            () -> {
+              int request;
+              while (System.nanoTime() < deadline
+                  && (request = issued.getAndIncrement()) < settings.requests()) {
+                if (!send(client, request(api, request % REQUEST_KINDS))) {
+                  failed.incrementAndGet();
+                }
+                sent.incrementAndGet();
+              }
+            });
+      }
+    }
+    log.info(
+        "Warm-up sent {} requests in {} ms, {} failed",
+        sent.get(),
+        (System.nanoTime() - started) / 1_000_000,
+        failed.get());
+  }
+
+  private static boolean send(HttpClient client, HttpRequest request) {
+    try {
+      HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      return response.statusCode() / 100 == 2;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private HttpRequest request(URI api, int kind) {
+    return switch (kind) {
+      case 0 -> json(api.resolve("frituren"), order(), MediaType.APPLICATION_JSON_VALUE);
+      case 1 -> json(api.resolve("frituren?format=counts"), order(), MediaType.ALL_VALUE);
+      case 2 -> json(api.resolve("frituren"), order(), MediaType.APPLICATION_NDJSON_VALUE);
+      case 3 -> binary(api.resolve("frituren"), order());
+      case 4 -> json(api.resolve("bakken"), words(), MediaType.APPLICATION_JSON_VALUE);
+      case 5 -> json(api.resolve("bakken?format=counts"), words(), MediaType.ALL_VALUE);
+      case 6 -> json(api.resolve("bakken"), words(), MediaType.APPLICATION_NDJSON_VALUE);
+      default ->
+          warmup(api.resolve("bakken/text"))
+              .header("Content-Type", MediaType.TEXT_PLAIN_VALUE)
+              .POST(HttpRequest.BodyPublishers.ofString(String.join(" ", words())))
+              .build();
+    };
+  }
+
+  private HttpRequest json(URI uri, Object body, String accept) {
+    try {
+      return warmup(uri)
+          .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+          .header("Accept", accept)
+          .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+          .build();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static HttpRequest binary(URI uri, List<Frituurbaar> order) {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try {
+      FrituurCodec.writeOrder(order, body);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return warmup(uri)
+        .header("Content-Type", FrituurHttpMessageConverter.APPLICATION_FRITUUR_VALUE)
+        .header("Accept", FrituurHttpMessageConverter.APPLICATION_FRITUUR_VALUE)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+        .build();
+  }
+
+  private static HttpRequest.Builder warmup(URI uri) {
+    return HttpRequest.newBuilder(uri).header(WarmupTraffic.HEADER, WarmupTraffic.token());
+  }
+
+  /** One line of every subtype and every {@link Krokettype}, shuffled. */
+  static List<Frituurbaar> order() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<Frituurbaar> order = new ArrayList<>();
+    order.add(new Pataten(random.nextInt(101)));
+    order.add(new Frikandellen(random.nextInt(13)));
+    for (Krokettype type : Krokettype.values()) {
+      order.add(new Kroketten(type, random.nextInt(9)));
+    }
+    order.add(new Cervela(random.nextInt(3)));
+    order.add(new Bereklauw(random.nextInt(3)));
+    Collections.shuffle(order, random);
+    return order;
+  }
+
+  private List<String> words() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int size = random.nextInt(1, 65);
+    List<String> words = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      words.add(
+          random.nextBoolean()
+              ? potatoWords.get(random.nextInt(potatoWords.size()))
+              : OTHER_WORDS[random.nextInt(OTHER_WORDS.length)]);
+    }
+    return words;
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.springjqwikdemo.service.warmup;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Tells the listeners whether the request being handled on this thread was sent by the {@link
+ * WarmupRunner}, so synthetic orders stay out of the sales figures. The runner sends {@link
+ * #HEADER} with a token that only this process knows; the web layer marks a request as warm-up
+ * only if the token matches and the request came in over loopback, so clients cannot hide their
+ * orders from the stats.
+ */
+public final class WarmupTraffic {
+
+  public static final String HEADER = "X-Snackbar-Warmup";
+
+  private static final String TOKEN = UUID.randomUUID().toString();
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private WarmupTraffic() {}
+
+  /** Whether a request with this {@link #HEADER} value from this address comes from the runner. */
+  public static boolean isWarmup(String header, String remoteAddress) {
+    if (!TOKEN.equals(header) || remoteAddress == null) {
+      return false;
+    }
+    try {
+      return InetAddress.getByName(remoteAddress).isLoopbackAddress();
+    } catch (UnknownHostException e) {
+      return false;
+    }
+  }
+
+  /** Whether the current thread is handling a warm-up request. */
+  public static boolean active() {
+    return ACTIVE.get() != null;
+  }
+
+  /** Marks the current thread as handling a warm-up request, until {@link #end()}. */
+  public static void begin() {
+    ACTIVE.set(Boolean.TRUE);
+  }
+
+  public static void end() {
+    ACTIVE.remove();
+  }
+
+  static String token() {
+    return TOKEN;
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.RandomGenerator;
+
+/**
+ * Datasets for the benchmarks, sampled from the same generators as the property tests. Samples
+ * come from a fixed seed per dataset, so every fork and every run measures the same data.
+ */
+public final class BenchmarkData {
+
+  private static final long SEED = 20_240_601L;
+  private static final int GEN_SIZE = 1000;
+
+  /** Snack mixes for the order benchmarks. */
+  public enum Mix {
+    /** The regular mix of all subtypes with small counts. */
+    MIXED,
+    /** Large frikandellen, kroketten and bereklauw counts. */
+    LARGE,
+    /** Negative, zero and tiny sizes and counts. */
+    EDGE_CASES;
+
+    Arbitrary<Frituurbaar> arbitrary() {
+      return switch (this) {
+        case MIXED -> DomainArbitraries.frituurbaar();
+        case LARGE ->
+            Arbitraries.oneOf(
+                DomainArbitraries.frikandellenLarge(),
+                DomainArbitraries.krokettenLarge(),
+                DomainArbitraries.bereklauwLarge());
+        case EDGE_CASES ->
+            Arbitraries.oneOf(
+                DomainArbitraries.patatenIncludingEdgeCases(),
+                DomainArbitraries.frikandellenIncludingEdgeCases());
+      };
+    }
+  }
+
+  private BenchmarkData() {}
+
+  static List<Frituurbaar> order(Mix mix, int lines) {
+    return sample(mix.arbitrary(), lines, SEED + 31L * mix.ordinal() + lines);
+  }
+
+  /** Many small orders of one to six lines each, as a counter sees them. */
+  public static List<List<Frituurbaar>> orders(Mix mix, int count) {
+    return sample(
+        mix.arbitrary().list().ofMinSize(1).ofMaxSize(6),
+        count,
+        SEED + 31L * mix.ordinal() - count);
+  }
+
+  /**
+   * Orders like {@link #orders}, sampled one at a time for load that runs longer than any list
+   * should be long: every index gives a different order, and the same one on every run.
+   */
+  public static LongFunction<List<Frituurbaar>> orderSource(Mix mix) {
+    RandomGenerator<List<Frituurbaar>> generator =
+        mix.arbitrary().list().ofMinSize(1).ofMaxSize(6).generator(GEN_SIZE);
+    long seed = SEED + 31L * mix.ordinal();
+    return index -> generator.next(new Random(seed + 0x9E3779B97F4A7C15L * index)).value();
+  }
+
+  /** Word lists in which the given fraction of words is "aardappel" or "pieper". */
+  public static List<String> words(int size, double potatoRatio) {
+    Random random = new Random(size);
+    return sample(Arbitraries.strings().alpha().ofMaxLength(12), size, SEED + size).stream()
+        .map(
+            word ->
+                random.nextDouble() < potatoRatio
+                    ? (random.nextBoolean() ? "aardappel" : "pieper")
+                    : word)
+        .toList();
+  }
+
+  /** {@code count} values of the arbitrary, the same ones for the same seed. */
+  static <T> List<T> sample(Arbitrary<T> arbitrary, int count, long seed) {
+    RandomGenerator<T> generator = arbitrary.generator(GEN_SIZE);
+    Random random = new Random(seed);
+    List<T> samples = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      samples.add(generator.next(random).value());
+    }
+    return samples;
+  }
+}
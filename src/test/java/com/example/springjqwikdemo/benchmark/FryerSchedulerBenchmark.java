@@ -0,0 +1,44 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.scheduling.FryPlan;
+import com.example.springjqwikdemo.service.scheduling.FryerScheduler;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Planning cost for a stream of small orders. Divide {@code orders} by the reported time per plan
+ * for the number of orders planned per second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FryerSchedulerBenchmark {
+
+  @Param({"100", "10000", "50000"})
+  public int orders;
+
+  @Param({"4", "32"})
+  public int fryers;
+
+  private FryerScheduler scheduler;
+  private List<List<Frituurbaar>> stream;
+
+  @Setup
+  public void setUp() {
+    scheduler =
+        new FryerScheduler(
+            new SnackbarProperties.Planning(fryers, 1_000_000, null, null, null, null, null));
+    stream = BenchmarkData.orders(BenchmarkData.Mix.MIXED, orders);
+  }
+
+  @Benchmark
+  public FryPlan plan() {
+    return scheduler.plan(stream);
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.controller.FrituurbaarModule;
+import com.example.springjqwikdemo.controller.RunLengthListHttpMessageConverter;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.RunLengthList;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+/**
+ * The JSON side of the controller path: (de)serializing orders and word lists and writing fry
+ * results, both through Jackson and through the pre-encoded converter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  @Param({"MIXED", "LARGE"})
+  public BenchmarkData.Mix mix;
+
+  private final SnackbarService service = new SnackbarService();
+  private final RunLengthListHttpMessageConverter converter =
+      new RunLengthListHttpMessageConverter();
+  private final HttpOutputMessage discard =
+      new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+          return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+          return headers;
+        }
+      };
+
+  private ObjectWriter orderWriter;
+  private ObjectReader orderReader;
+  private ObjectWriter resultWriter;
+  private ObjectReader wordsReader;
+  private List<Frituurbaar> order;
+  private RunLengthList result;
+  private byte[] orderJson;
+  private byte[] wordsJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new FrituurbaarModule());
+    orderWriter = objectMapper.writerFor(new TypeReference<List<Frituurbaar>>() {});
+    orderReader = objectMapper.readerFor(new TypeReference<List<Frituurbaar>>() {});
+    resultWriter = objectMapper.writerFor(new TypeReference<List<String>>() {});
+    wordsReader = objectMapper.readerFor(new TypeReference<List<String>>() {});
+    order = BenchmarkData.order(mix, size);
+    result = (RunLengthList) service.frituren(order);
+    orderJson = orderWriter.writeValueAsBytes(order);
+    wordsJson = objectMapper.writeValueAsBytes(BenchmarkData.words(size, 0.2));
+  }
+
+  @Benchmark
+  public void writeOrderJackson() throws IOException {
+    orderWriter.writeValue(OutputStream.nullOutputStream(), order);
+  }
+
+  @Benchmark
+  public List<Frituurbaar> readOrderJackson() throws IOException {
+    return orderReader.readValue(orderJson);
+  }
+
+  @Benchmark
+  public void writeResultJackson() throws IOException {
+    resultWriter.writeValue(OutputStream.nullOutputStream(), result);
+  }
+
+  @Benchmark
+  public void writeResultPreEncoded() throws IOException {
+    converter.write(result, MediaType.APPLICATION_JSON, discard);
+  }
+
+  @Benchmark
+  public void bakkenRoundTrip() throws IOException {
+    List<String> words = wordsReader.readValue(wordsJson);
+    converter.write(
+        (RunLengthList) service.processWords(words), MediaType.APPLICATION_JSON, discard);
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.OrderTicket;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.intake.OrderIntake;
+import com.example.springjqwikdemo.service.intake.OrderRing;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The asynchronous intake against frying on the calling thread. {@code synchronous} is what a
+ * {@code /frituren} request thread does; {@code asynchronous} submits the order and waits for its
+ * ticket, so its score is the full queueing plus frying latency. The {@code ring} and
+ * {@code blockingQueue} groups hand orders between four producers and four consumers, to compare
+ * the lock-free ring with {@link ArrayBlockingQueue}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class OrderIntakeBenchmark {
+
+  @Param({"10", "1000"})
+  public int lines;
+
+  private final SnackbarService service = new SnackbarService();
+  private final OrderRing ring = new OrderRing(1024);
+  private final ArrayBlockingQueue<List<Frituurbaar>> blockingQueue =
+      new ArrayBlockingQueue<>(1024);
+  private OrderIntake intake;
+  private List<Frituurbaar> order;
+
+  @Setup
+  public void setUp() {
+    order = BenchmarkData.order(BenchmarkData.Mix.MIXED, lines);
+    intake = new OrderIntake(service, new SnackbarProperties.Intake(1024, 0, null, 0));
+    intake.start();
+  }
+
+  @TearDown
+  public void tearDown() {
+    intake.stop();
+  }
+
+  @Benchmark
+  public List<String> synchronous() {
+    return service.frituren(order);
+  }
+
+  @Benchmark
+  public OrderTicket asynchronous() {
+    Optional<OrderTicket> queued = intake.submit(order);
+    while (queued.isEmpty()) {
+      Thread.yield();
+      queued = intake.submit(order);
+    }
+    String orderId = queued.get().orderId();
+    OrderTicket ticket = queued.get();
+    while (ticket.status() == OrderTicket.Status.QUEUED) {
+      Thread.yield();
+      ticket = intake.ticket(orderId).orElseThrow();
+    }
+    return ticket;
+  }
+
+  @Benchmark
+  @Group("ring")
+  @GroupThreads(4)
+  public void ringOffer() {
+    while (!ring.offer("order", order)) {
+      Thread.yield();
+    }
+  }
+
+  @Benchmark
+  @Group("ring")
+  @GroupThreads(4)
+  public void ringPoll(Blackhole blackhole) {
+    while (!ring.poll((id, polled) -> blackhole.consume(polled))) {
+      Thread.yield();
+    }
+  }
+
+  @Benchmark
+  @Group("blockingQueue")
+  @GroupThreads(4)
+  public void blockingQueueOffer() throws InterruptedException {
+    blockingQueue.put(order);
+  }
+
+  @Benchmark
+  @Group("blockingQueue")
+  @GroupThreads(4)
+  public void blockingQueuePoll(Blackhole blackhole) throws InterruptedException {
+    blackhole.consume(blockingQueue.take());
+  }
+}
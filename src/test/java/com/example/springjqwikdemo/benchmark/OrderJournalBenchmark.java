@@ -0,0 +1,78 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Journal append throughput from eight request threads, with and without waiting for the group
+ * commit, and the time to replay a journal of {@code replayOrders} orders. The journal lives in
+ * a temporary directory, so run it on the disk the service will use.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJournalBenchmark {
+
+  @Param({"true", "false"})
+  public boolean waitForCommit;
+
+  @Param({"100000"})
+  public int replayOrders;
+
+  private Path directory;
+  private OrderJournal journal;
+  private OrderJournal replayJournal;
+  private List<Frituurbaar> order;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("journal-benchmark");
+    order = BenchmarkData.order(BenchmarkData.Mix.MIXED, 5);
+    journal = new OrderJournal(settings(directory.resolve("append")));
+    replayJournal = new OrderJournal(settings(directory.resolve("replay")));
+    for (int i = 0; i < replayOrders; i++) {
+      replayJournal.append(order);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    journal.close();
+    replayJournal.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long append() {
+    return journal.append(order);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long replay(Blackhole blackhole) throws IOException {
+    return replayJournal.replay(0, blackhole::consume);
+  }
+
+  private SnackbarProperties.Journal settings(Path path) {
+    return new SnackbarProperties.Journal(true, path, null, waitForCommit);
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Sequential versus fork-join frituren across order sizes, to find the crossover that
+ * {@code snackbar.frituren.parallel-threshold} should be set to on a given host. Compare the
+ * {@code sequential} and {@code parallel} scores per {@code lines} value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelFriturenBenchmark {
+
+  @Param({"1000", "4000", "16000", "64000", "256000"})
+  public int lines;
+
+  @Param({"1024", "4096"})
+  public int chunkSize;
+
+  private List<Frituurbaar> order;
+  private SnackbarService sequential;
+  private SnackbarService parallel;
+
+  @Setup
+  public void setUp() {
+    order = BenchmarkData.order(BenchmarkData.Mix.MIXED, lines);
+    sequential =
+        new SnackbarService(List.of(), new SnackbarProperties.Frituren(Integer.MAX_VALUE, 1));
+    parallel = new SnackbarService(List.of(), new SnackbarProperties.Frituren(1, chunkSize));
+  }
+
+  @Benchmark
+  public List<String> sequential() {
+    return sequential.frituren(order);
+  }
+
+  @Benchmark
+  public List<String> parallel() {
+    return parallel.frituren(order);
+  }
+}
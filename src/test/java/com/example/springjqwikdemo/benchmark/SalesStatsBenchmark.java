@@ -0,0 +1,122 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.service.SnackbarListener;
+import com.example.springjqwikdemo.service.SnackbarMetrics;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.stats.RecentStats;
+import com.example.springjqwikdemo.service.stats.SalesStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Sales counters under 64 concurrent request threads. {@code friturenWithStats} should score the
+ * same as {@code frituren} without any listener; {@code friturenWithAtomicStats} counts into one
+ * shared {@link AtomicLongArray} instead, to show what contended counters would cost, and {@code
+ * friturenWithAllListeners} runs every listener the application registers: {@link SalesStats},
+ * {@link RecentStats} and {@link SnackbarMetrics} on a {@link SimpleMeterRegistry}. The
+ * {@code record*} benchmarks measure only the counting; {@code recordRecentStats} includes the
+ * histograms of the sliding windows, and the {@code recent} group queries the windows while 63
+ * threads record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class SalesStatsBenchmark {
+
+  private final SalesStats salesStats = new SalesStats();
+  private final AtomicStats atomicStats = new AtomicStats();
+  private final RecentStats recentStats = new RecentStats();
+  private final SnackbarService plain = new SnackbarService();
+  private final SnackbarService withStats = new SnackbarService(List.of(salesStats));
+  private final SnackbarService withAtomicStats = new SnackbarService(List.of(atomicStats));
+  private final SnackbarService withAllListeners =
+      new SnackbarService(
+          List.of(
+              new SalesStats(),
+              new RecentStats(),
+              new SnackbarMetrics(new SimpleMeterRegistry())));
+  private List<Frituurbaar> order;
+
+  @Setup
+  public void setUp() {
+    order = BenchmarkData.order(BenchmarkData.Mix.MIXED, 5);
+  }
+
+  @Benchmark
+  public List<String> frituren() {
+    return plain.frituren(order);
+  }
+
+  @Benchmark
+  public List<String> friturenWithStats() {
+    return withStats.frituren(order);
+  }
+
+  @Benchmark
+  public List<String> friturenWithAtomicStats() {
+    return withAtomicStats.frituren(order);
+  }
+
+  @Benchmark
+  public List<String> friturenWithAllListeners() {
+    return withAllListeners.frituren(order);
+  }
+
+  @Benchmark
+  public void recordStats() {
+    salesStats.orderFried(order, 10, 1_000);
+  }
+
+  @Benchmark
+  public void recordAtomicStats() {
+    atomicStats.orderFried(order, 10, 1_000);
+  }
+
+  @Benchmark
+  public void recordRecentStats() {
+    recentStats.orderFried(order, 10, 1_000);
+  }
+
+  @Benchmark
+  @Group("recent")
+  @GroupThreads(63)
+  public void recentWrites() {
+    recentStats.orderFried(order, 10, 1_000);
+  }
+
+  @Benchmark
+  @Group("recent")
+  @GroupThreads(1)
+  public List<RecentStats.Window> recentWindows() {
+    return recentStats.windows();
+  }
+
+  /** The same slots as {@link SalesStats}, as one contended array. */
+  static final class AtomicStats implements SnackbarListener {
+
+    private static final int ORDERS = SnackbarService.KINDS;
+    private static final int ITEMS = ORDERS + 1;
+
+    private final AtomicLongArray slots = new AtomicLongArray(ITEMS + 1);
+
+    @Override
+    public void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {
+      for (Frituurbaar line : order) {
+        int portions = SnackbarService.portions(line);
+        if (portions > 0) {
+          slots.addAndGet(SnackbarService.kind(line), portions);
+        }
+      }
+      slots.incrementAndGet(ORDERS);
+      slots.addAndGet(ITEMS, outputItems);
+    }
+  }
+}
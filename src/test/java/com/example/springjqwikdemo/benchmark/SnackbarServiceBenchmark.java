@@ -0,0 +1,52 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.ItemCount;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Throughput of the service methods across input sizes and snack mixes. Run with {@code -prof gc}
+ * (the default of the benchmark profile) to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnackbarServiceBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  @Param({"MIXED", "LARGE", "EDGE_CASES"})
+  public BenchmarkData.Mix mix;
+
+  private final SnackbarService service = new SnackbarService();
+  private List<Frituurbaar> order;
+  private List<String> words;
+
+  @Setup
+  public void setUp() {
+    order = BenchmarkData.order(mix, size);
+    words = BenchmarkData.words(size, 0.2);
+  }
+
+  @Benchmark
+  public List<String> frituren() {
+    return service.frituren(order);
+  }
+
+  @Benchmark
+  public List<ItemCount> friturenCounted() {
+    return service.friturenCounted(order);
+  }
+
+  @Benchmark
+  public List<String> processWords() {
+    return service.processWords(words);
+  }
+}
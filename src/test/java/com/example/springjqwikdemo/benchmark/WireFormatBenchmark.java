@@ -0,0 +1,88 @@
+package com.example.springjqwikdemo.benchmark;
+
+import com.example.springjqwikdemo.controller.FrituurCodec;
+import com.example.springjqwikdemo.controller.FrituurbaarModule;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.service.RunLengthList;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The binary {@code application/x-frituur} format against JSON, for payload size and decode cost.
+ * The payload sizes of both formats are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  @Param({"MIXED", "LARGE"})
+  public BenchmarkData.Mix mix;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().registerModule(new FrituurbaarModule());
+  private final ObjectReader orderReader =
+      objectMapper.readerFor(new TypeReference<List<Frituurbaar>>() {});
+  private List<Frituurbaar> order;
+  private RunLengthList result;
+  private byte[] orderJson;
+  private byte[] orderBinary;
+
+  @Setup
+  public void setUp() throws IOException {
+    order = BenchmarkData.order(mix, size);
+    result = (RunLengthList) new SnackbarService().frituren(order);
+    orderJson = objectMapper.writeValueAsBytes(order);
+    ByteArrayOutputStream binary = new ByteArrayOutputStream();
+    FrituurCodec.writeOrder(order, binary);
+    orderBinary = binary.toByteArray();
+    ByteArrayOutputStream resultBinary = new ByteArrayOutputStream();
+    FrituurCodec.writeResult(result, resultBinary);
+    System.out.printf(
+        "%nPayload bytes: order json=%d binary=%d, result json=%d binary=%d%n",
+        orderJson.length,
+        orderBinary.length,
+        objectMapper.writeValueAsBytes(result).length,
+        resultBinary.size());
+  }
+
+  @Benchmark
+  public List<Frituurbaar> decodeOrderJackson() throws IOException {
+    return orderReader.readValue(orderJson);
+  }
+
+  @Benchmark
+  public List<Frituurbaar> decodeOrderBinary() throws IOException {
+    return FrituurCodec.readOrder(new ByteArrayInputStream(orderBinary));
+  }
+
+  @Benchmark
+  public void encodeOrderJackson() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), order);
+  }
+
+  @Benchmark
+  public void encodeOrderBinary() throws IOException {
+    FrituurCodec.writeOrder(order, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void encodeResultBinary() throws IOException {
+    FrituurCodec.writeResult(result, OutputStream.nullOutputStream());
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.springjqwikdemo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Demonstreert: Configuratie binden zoals Spring Boot dat doet.
+ *
+ * <p>Wie maar een deel van een groep instellingen opgeeft, krijgt voor de rest de standaardwaarden.
+ * Zo blijft de cache aan als alleen de grootte is ingesteld.
+ */
+class SnackbarPropertiesTest {
+
+  @Property(tries = 20)
+  void propertyBasedTest_CacheStaysEnabledWhenOnlyItsSizeIsSet(
+      @ForAll @IntRange(min = 1, max = 1_000) int maxLines) {
+    // Given
+    Map<String, String> properties = Map.of("snackbar.cache.max-lines", String.valueOf(maxLines));
+
+    // When
+    SnackbarProperties.Cache cache = bind(properties).cache();
+
+    // Then
+    assertThat(cache.enabled()).isTrue();
+    assertThat(cache.maxLines()).isEqualTo(maxLines);
+    assertThat(cache.maxWeight()).isEqualTo(100_000);
+  }
+
+  @Example
+  @Label("Alleen het gewicht instellen laat de cache ook aan")
+  void maxWeightAloneKeepsCacheEnabled() {
+    // When
+    SnackbarProperties.Cache cache = bind(Map.of("snackbar.cache.max-weight", "500")).cache();
+
+    // Then
+    assertThat(cache.enabled()).isTrue();
+    assertThat(cache.maxWeight()).isEqualTo(500);
+  }
+
+  @Example
+  @Label("De cache gaat alleen uit als dat expliciet gevraagd wordt")
+  void cacheIsDisabledOnlyOnRequest() {
+    // When
+    SnackbarProperties.Cache cache = bind(Map.of("snackbar.cache.enabled", "false")).cache();
+
+    // Then
+    assertThat(cache.enabled()).isFalse();
+    assertThat(cache.maxLines()).isEqualTo(64);
+  }
+
+  private static SnackbarProperties bind(Map<String, String> properties) {
+    return new Binder(new MapConfigurationPropertySource(properties))
+        .bindOrCreate("snackbar", SnackbarProperties.class);
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.springjqwikdemo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import com.example.springjqwikdemo.service.RunLengthList;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Round-trip eigenschappen ("decode(encode(x)) == x").
+ *
+ * <p>Voor elke gegenereerde bestelling, ook met negatieve en extreme aantallen, moet het binaire
+ * formaat precies dezelfde bestelling teruggeven. Willekeurige bytes mogen nooit iets anders
+ * opleveren dan een nette foutmelding.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class FrituurCodecTest {
+
+  private final SnackbarService service = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_OrderRoundTrip(@ForAll("bestellingen") List<Frituurbaar> order)
+      throws IOException {
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FrituurCodec.writeOrder(order, out);
+
+    // Then
+    assertThat(FrituurCodec.readOrder(new ByteArrayInputStream(out.toByteArray())))
+        .isEqualTo(order);
+  }
+
+  @Property
+  void propertyBasedTest_ResultRoundTrip(@ForAll @Size(max = 20) List<Frituurbaar> order)
+      throws IOException {
+    // Given
+    RunLengthList result = (RunLengthList) service.frituren(order);
+
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FrituurCodec.writeResult(result, out);
+
+    // Then
+    assertThat(FrituurCodec.readResult(new ByteArrayInputStream(out.toByteArray())))
+        .isEqualTo(result);
+  }
+
+  /**
+   * Demonstreert: Een robuustheidseigenschap
+   *
+   * jqwik genereert willekeurige bytes; de decoder mag alleen een bestelling of een van de twee
+   * gedocumenteerde fouten opleveren, nooit een andere exceptie.
+   */
+  @Property
+  void propertyBasedTest_RandomBytesNeverCrashTheDecoder(@ForAll @Size(max = 32) byte[] bytes) {
+    try {
+      FrituurCodec.readOrder(new ByteArrayInputStream(bytes));
+    } catch (IllegalArgumentException | EOFException expected) {
+      // Nette fout
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  @Property(tries = 20)
+  void propertyBasedTest_SmallerThanJson(@ForAll @Size(min = 1, max = 50) List<Frituurbaar> order)
+      throws IOException {
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    FrituurCodec.writeOrder(order, out);
+
+    // Then
+    assertThat(out.size()).isLessThan(new ObjectMapper().writeValueAsBytes(order).length);
+  }
+
+  @Example
+  void rejectsUnknownTags() {
+    assertThatThrownBy(() -> FrituurCodec.readOrder(new ByteArrayInputStream(new byte[] {1, 9})))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> FrituurCodec.readOrder(new ByteArrayInputStream(new byte[] {1, 2, 6, 0})))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Provide
+  Arbitrary<List<Frituurbaar>> bestellingen() {
+    return Arbitraries.<Frituurbaar>oneOf(
+            DomainArbitraries.frituurbaar(),
+            DomainArbitraries.patatenIncludingEdgeCases(),
+            DomainArbitraries.frikandellenIncludingEdgeCases())
+        .list()
+        .ofMaxSize(30);
+  }
+}
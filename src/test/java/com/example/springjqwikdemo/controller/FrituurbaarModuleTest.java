@@ -0,0 +1,118 @@
+package com.example.springjqwikdemo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Round-trip eigenschappen over een sealed hiërarchie.
+ *
+ * <p>De {@code DomainArbitraryProvider} levert elk subtype van {@link Frituurbaar}; elk daarvan
+ * moet als hetzelfde record terugkomen, ook als de velden in een andere volgorde staan.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class FrituurbaarModuleTest {
+
+  private static final TypeReference<List<Frituurbaar>> ORDER = new TypeReference<>() {};
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().registerModule(new FrituurbaarModule());
+
+  @Property
+  void propertyBasedTest_EverySubtypeRoundTrips(@ForAll Frituurbaar item) throws Exception {
+    String json = objectMapper.writeValueAsString(item);
+
+    assertThat(objectMapper.readValue(json, Frituurbaar.class)).isEqualTo(item);
+  }
+
+  @Property
+  void propertyBasedTest_OrdersRoundTrip(
+      @ForAll("bestellingenIncludingEdgeCases") List<Frituurbaar> order) throws Exception {
+    String json = objectMapper.writeValueAsString(order);
+
+    assertThat(objectMapper.readValue(json, ORDER)).isEqualTo(order);
+  }
+
+  /**
+   * Demonstreert: Een gegenereerde permutatie van de invoer
+   *
+   * De discriminator hoeft niet het eerste veld te zijn; de deserializer leest de velden in één
+   * keer en beslist pas aan het einde van het object.
+   */
+  @Property
+  void propertyBasedTest_FieldOrderDoesNotMatter(
+      @ForAll Frituurbaar item, @ForAll long seed) throws Exception {
+    // Given
+    ObjectNode written = (ObjectNode) objectMapper.valueToTree(item);
+    List<String> fields = new ArrayList<>();
+    written.fieldNames().forEachRemaining(fields::add);
+    Collections.shuffle(fields, new Random(seed));
+    ObjectNode shuffled = objectMapper.createObjectNode();
+    fields.forEach(field -> shuffled.set(field, written.get(field)));
+
+    // When & Then
+    assertThat(objectMapper.treeToValue(shuffled, Frituurbaar.class)).isEqualTo(item);
+  }
+
+  @Property
+  void propertyBasedTest_ObjectsWithoutDiscriminatorKeepTheirOldMeaning(
+      @ForAll @Size(max = 10) List<Frituurbaar> order) throws Exception {
+    // Given - Alleen de vormen die zonder discriminator eenduidig waren
+    List<Frituurbaar> unambiguous =
+        order.stream()
+            .filter(item -> !(item instanceof Cervela) && !(item instanceof Bereklauw))
+            .toList();
+    String json =
+        objectMapper.writeValueAsString(unambiguous).replaceAll("\"snack\":\"[a-z]+\",", "");
+
+    // When & Then
+    assertThat(objectMapper.readValue(json, ORDER)).isEqualTo(unambiguous);
+  }
+
+  @Example
+  void readsTheDocumentedShapes() throws Exception {
+    String json =
+        """
+        [{"snack": "pataten", "size": 9},
+         {"snack": "kroketten", "type": "KAAS", "count": 2},
+         {"count": 1, "snack": "bereklauw"}]
+        """;
+
+    assertThat(objectMapper.readValue(json, ORDER))
+        .containsExactly(new Pataten(9), new Kroketten(Krokettype.KAAS, 2), new Bereklauw(1));
+  }
+
+  @Example
+  void rejectsUnknownAndIncompleteSnacks() {
+    assertThatThrownBy(() -> objectMapper.readValue("[{\"snack\": \"kapsalon\"}]", ORDER))
+        .isInstanceOf(JsonMappingException.class);
+    assertThatThrownBy(() -> objectMapper.readValue("[{\"snack\": \"kroketten\"}]", ORDER))
+        .isInstanceOf(JsonMappingException.class);
+    assertThatThrownBy(() -> objectMapper.readValue("[{\"type\": \"FRIET\"}]", ORDER))
+        .isInstanceOf(JsonMappingException.class);
+    assertThatThrownBy(() -> objectMapper.readValue("[{}]", ORDER))
+        .isInstanceOf(JsonMappingException.class);
+  }
+
+  @Provide
+  Arbitrary<List<Frituurbaar>> bestellingenIncludingEdgeCases() {
+    return Arbitraries.<Frituurbaar>oneOf(
+            DomainArbitraries.frituurbaar(),
+            DomainArbitraries.patatenIncludingEdgeCases(),
+            DomainArbitraries.frikandellenIncludingEdgeCases())
+        .list()
+        .ofMaxSize(30);
+  }
+}
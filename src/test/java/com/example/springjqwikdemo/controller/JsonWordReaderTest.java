@@ -0,0 +1,57 @@
+package com.example.springjqwikdemo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+import net.jqwik.api.constraints.WithNull;
+
+/**
+ * Demonstreert: @WithNull om null waarden tussen de gegenereerde elementen te mengen.
+ *
+ * <p>De streaming parser moet precies dezelfde woorden opleveren als Jackson die de hele array
+ * in een lijst laadt, waarbij null waarden worden overgeslagen.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class JsonWordReaderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Property
+  void propertyBasedTest_ReadsWordsInOrder(
+      @ForAll @Size(min = 0, max = 20) List<@WithNull(0.1) String> words) throws IOException {
+    // Given
+    byte[] json = objectMapper.writeValueAsBytes(words);
+
+    // When
+    List<String> read = new ArrayList<>();
+    try (JsonWordReader reader = new JsonWordReader(new ByteArrayInputStream(json))) {
+      reader.words().forEach(read::add);
+    }
+
+    // Then
+    assertThat(read).isEqualTo(words.stream().filter(Objects::nonNull).toList());
+  }
+
+  @Example
+  void rejectsNestedStructures() throws IOException {
+    byte[] json = "[\"pieper\", {\"woord\": \"aardappel\"}]".getBytes(StandardCharsets.UTF_8);
+
+    JsonWordReader reader = new JsonWordReader(new ByteArrayInputStream(json));
+
+    assertThat(reader.next()).isEqualTo("pieper");
+    assertThatThrownBy(reader::next)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCauseInstanceOf(JsonParseException.class);
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.springjqwikdemo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Een streaming implementatie vergelijken met de bestaande lijst-implementatie.
+ *
+ * <p>De eigenschap controleert dat NDJSON regel voor regel hetzelfde oplevert als frituren().
+ * Het voorbeeld meet per request hoeveel heap er gealloceerd wordt door beide paden, zodat het
+ * verschil in geheugengebruik zichtbaar en afgedwongen is.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class NdjsonRunWriterTest {
+
+  private final SnackbarService service = new SnackbarService();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Property
+  void propertyBasedTest_StreamingMatchesList(
+      @ForAll @Size(min = 0, max = 10) List<Frituurbaar> items) throws IOException {
+    // When
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    NdjsonRunWriter writer = new NdjsonRunWriter(out);
+    service.forEachRun(items, writer);
+    writer.finish();
+
+    // Then - Elke regel is één JSON string, in dezelfde volgorde als de lijst
+    List<String> lines = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      if (!line.isEmpty()) {
+        lines.add(objectMapper.readValue(line, String.class));
+      }
+    }
+    assertThat(lines).isEqualTo(service.frituren(items));
+  }
+
+  @Example
+  @Label("Heap per request: streaming tegenover de volledige lijst")
+  void streamingAllocationIsConstant() throws IOException {
+    // Given - Een kleine en een tien keer zo grote bestelling
+    List<Frituurbaar> small =
+        List.of(new Frikandellen(100_000), new Kroketten(Krokettype.KAAS, 100_000));
+    List<Frituurbaar> large =
+        List.of(new Frikandellen(1_000_000), new Kroketten(Krokettype.KAAS, 1_000_000));
+
+    // When - Meet de gealloceerde bytes van beide paden op deze thread
+    long listBytes = allocatedBytes(() -> writeList(large));
+    long smallStreamingBytes = allocatedBytes(() -> writeStreaming(small));
+    long largeStreamingBytes = allocatedBytes(() -> writeStreaming(large));
+
+    // Then - Streaming groeit niet mee met de bestelling, de lijst wel
+    assertThat(largeStreamingBytes)
+        .as("streaming %d bytes, lijst %d bytes", largeStreamingBytes, listBytes)
+        .isLessThan(256 * 1024)
+        .isLessThan(smallStreamingBytes + 64 * 1024);
+  }
+
+  private void writeList(List<Frituurbaar> order) throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), service.frituren(order));
+  }
+
+  private void writeStreaming(List<Frituurbaar> order) throws IOException {
+    NdjsonRunWriter writer = new NdjsonRunWriter(OutputStream.nullOutputStream());
+    service.forEachRun(order, writer);
+    writer.finish();
+  }
+
+  private static long allocatedBytes(IoRunnable request) throws IOException {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long before = threads.getCurrentThreadAllocatedBytes();
+    request.run();
+    return threads.getCurrentThreadAllocatedBytes() - before;
+  }
+
+  private interface IoRunnable {
+    void run() throws IOException;
+  }
+}
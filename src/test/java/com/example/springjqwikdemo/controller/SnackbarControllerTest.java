@@ -1,13 +1,29 @@
 package com.example.springjqwikdemo.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.Frikandellen;
+import com.example.springjqwikdemo.domain.Pataten;
+import com.example.springjqwikdemo.service.OrderAdmission;
+import com.example.springjqwikdemo.service.RunLengthList;
 import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Size;
 import net.jqwik.spring.JqwikSpringSupport;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +32,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Demonstreert jqwik integratie met Spring Boot en MockMvc.
@@ -40,12 +57,26 @@ class SnackbarControllerTest {
 
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private OrderJournal journal;
+
   @TestConfiguration
   static class TestConfig {
     @Bean
     public SnackbarService snackbarService() {
       return new SnackbarService();
     }
+
+    @Bean
+    public OrderAdmission orderAdmission() {
+      return new OrderAdmission(new SnackbarProperties.Admission(1_000_000, 0, 0, null));
+    }
+
+    @Bean
+    public OrderJournal orderJournal() throws IOException {
+      return new OrderJournal(
+          new SnackbarProperties.Journal(
+              true, Path.of("target", "snackbar-controller-journal"), null, false));
+    }
   }
 
   /**
@@ -111,6 +142,248 @@ class SnackbarControllerTest {
         .andExpect(jsonPath("$.length()").value(expectedSize));
   }
 
+  /**
+   * Demonstreert: Dezelfde data tegen een tweede representatie van het endpoint
+   *
+   * Met ?format=counts komt hetzelfde antwoord terug als één telling per reeks.
+   */
+  @Property
+  void propertyBasedTest_CountedFormat(
+      @ForAll @Size(min = 1, max = 3) List<@From("aardappels") String> aardappels)
+      throws Exception {
+    // Given
+    String requestBody = objectMapper.writeValueAsString(aardappels);
+    int expectedCount =
+        aardappels.stream()
+            .filter(w -> w.equals("aardappel") || w.equals("pieper"))
+            .mapToInt(String::length)
+            .sum();
+    Assume.that(expectedCount > 0);
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/bakken")
+                .param("format", "counts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].item").value("friet"))
+        .andExpect(jsonPath("$[0].count").value(expectedCount));
+  }
+
+  /**
+   * Demonstreert: Een derde representatie, onafhankelijk van hoe de bestelling is opgesplitst
+   *
+   * Met ?format=totals worden regels eerst samengevoegd: losse frikandelregels geven samen één
+   * telling.
+   */
+  @Property
+  void propertyBasedTest_TotalsFormat(
+      @ForAll @Size(min = 1, max = 10) List<@IntRange(min = 1, max = 20) Integer> counts)
+      throws Exception {
+    // Given
+    List<Frituurbaar> order =
+        counts.stream().<Frituurbaar>map(Frikandellen::new).toList();
+    int expectedCount = counts.stream().mapToInt(Integer::intValue).sum();
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/frituren")
+                .param("format", "totals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(order)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].item").value(SnackbarService.FRIKANDEL))
+        .andExpect(jsonPath("$[0].count").value(expectedCount));
+  }
+
+  /**
+   * Demonstreert: Asynchrone (streaming) endpoints testen met gegenereerde data
+   *
+   * Met Accept: application/x-ndjson schrijft het endpoint elk item als eigen regel,
+   * terwijl het antwoord nog wordt opgebouwd.
+   */
+  @Property(tries = 10)
+  void propertyBasedTest_NdjsonStreaming(
+      @ForAll @Size(min = 1, max = 3) List<@From("aardappels") String> aardappels)
+      throws Exception {
+    // Given
+    String requestBody = objectMapper.writeValueAsString(aardappels);
+    String expected =
+        "\"friet\"\n"
+            .repeat(
+                aardappels.stream()
+                    .filter(w -> w.equals("aardappel") || w.equals("pieper"))
+                    .mapToInt(String::length)
+                    .sum());
+
+    // When
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/bakken")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(requestBody))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    // Then
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(expected));
+  }
+
+  @Example
+  @Label("Een client die alles accepteert, zoals curl, krijgt gewoon een JSON array")
+  void wildcardAcceptGetsJsonArray() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/bakken")
+                .accept(MediaType.ALL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"pieper\"]"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.length()").value(6));
+  }
+
+  @Example
+  @Label("Met een journaal staat elke bestelling van /frituren erin, in elk formaat")
+  void everyFriturenFormatJournalsTheOrder() throws Exception {
+    // Given
+    List<Frituurbaar> order = List.of(new Pataten(2), new Frikandellen(3));
+    String requestBody = objectMapper.writeValueAsString(order);
+    long from = journal.nextSequence();
+
+    // When
+    mockMvc.perform(
+        post("/api/frituren").contentType(MediaType.APPLICATION_JSON).content(requestBody));
+    for (String format : List.of("counts", "totals")) {
+      mockMvc.perform(
+          post("/api/frituren")
+              .param("format", format)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(requestBody));
+    }
+    MvcResult streamed =
+        mockMvc
+            .perform(
+                post("/api/frituren")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(requestBody))
+            .andReturn();
+    mockMvc.perform(asyncDispatch(streamed)).andExpect(status().isOk());
+
+    // Then
+    List<List<Frituurbaar>> journaled = new ArrayList<>();
+    journal.replay(from, entry -> journaled.add(entry.order()));
+    assertThat(journaled).containsExactly(order, order, order, order);
+  }
+
+  /**
+   * Demonstreert: Gegenereerde vrije tekst als request body
+   *
+   * De aardappelwoorden worden met leestekens en witruimte tot een tekst aan elkaar geplakt;
+   * /bakken/text moet ze daarin terugvinden en per item optellen.
+   */
+  @Property
+  void propertyBasedTest_FreeTextIsScanned(
+      @ForAll @Size(min = 1, max = 10) List<@From("aardappels") String> aardappels)
+      throws Exception {
+    // Given
+    String text = "Menu: " + String.join(", ", aardappels) + ".\n";
+    int expectedCount =
+        aardappels.stream()
+            .filter(w -> w.equals("aardappel") || w.equals("pieper"))
+            .mapToInt(String::length)
+            .sum();
+    Assume.that(expectedCount > 0);
+
+    // When & Then
+    mockMvc
+        .perform(post("/api/bakken/text").contentType(MediaType.TEXT_PLAIN).content(text))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].item").value("friet"))
+        .andExpect(jsonPath("$[0].count").value(expectedCount));
+  }
+
+  /**
+   * Demonstreert: Gegenereerde sealed-hiërarchieën door de hele JSON-keten
+   *
+   * Elke bestelling gaat als JSON met discriminator over de lijn en moet precies het resultaat
+   * van de service opleveren.
+   */
+  @Property(tries = 20)
+  void propertyBasedTest_JsonOrdersWithDiscriminator(
+      @ForAll @Size(max = 20) List<Frituurbaar> order) throws Exception {
+    // Given
+    String requestBody = objectMapper.writeValueAsString(order);
+    String expected = objectMapper.writeValueAsString(new SnackbarService().frituren(order));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/frituren").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(content().json(expected, true));
+  }
+
+  /**
+   * Demonstreert: Grenswaarden als eigenschap
+   *
+   * Een bestelling die meer items oplevert dan het budget wordt geweigerd voordat er iets
+   * gefrituurd wordt, hoe groot ze ook is.
+   */
+  @Property(tries = 20)
+  void propertyBasedTest_OversizedOrdersAreRejected(
+      @ForAll @IntRange(min = 1_000_000) int count) throws Exception {
+    // Given
+    String requestBody =
+        objectMapper.writeValueAsString(List.of(new Pataten(10), new Frikandellen(count)));
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/frituren").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+        .andExpect(status().isPayloadTooLarge());
+  }
+
+  /**
+   * Demonstreert: Content negotiation met gegenereerde domeinobjecten
+   *
+   * Een bestelling in het binaire formaat moet hetzelfde resultaat opleveren als de service
+   * rechtstreeks, terug in het binaire formaat.
+   */
+  @Property(tries = 20)
+  void propertyBasedTest_BinaryWireFormat(@ForAll @Size(max = 20) List<Frituurbaar> order)
+      throws Exception {
+    // Given
+    ByteArrayOutputStream request = new ByteArrayOutputStream();
+    FrituurCodec.writeOrder(order, request);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    FrituurCodec.writeResult((RunLengthList) new SnackbarService().frituren(order), expected);
+
+    // When & Then
+    mockMvc
+        .perform(
+            post("/api/frituren")
+                .contentType(FrituurHttpMessageConverter.APPLICATION_FRITUUR)
+                .accept(FrituurHttpMessageConverter.APPLICATION_FRITUUR)
+                .content(request.toByteArray()))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(FrituurHttpMessageConverter.APPLICATION_FRITUUR))
+        .andExpect(content().bytes(expected.toByteArray()));
+  }
+
   /**
    * Demonstreert: Arbitraries programmatisch gebruiken
    *
@@ -143,7 +416,7 @@ class SnackbarControllerTest {
         .alpha()
         .ofMinLength(1)
         .ofMaxLength(20)
-        .filter(word -> !word.equals("aardappel") && !word.equals("pieper"));
+        .filter(word -> !word.equalsIgnoreCase("aardappel") && !word.equalsIgnoreCase("pieper"));
   }
 
   /**
@@ -0,0 +1,91 @@
+package com.example.springjqwikdemo.load;
+
+import com.example.springjqwikdemo.SpringJqwikDemoApplication;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application in a JVM of its own on a free port, so a comparison never measures a JVM that
+ * earlier runs have already warmed up. The child gets this JVM's class path, so comparisons using
+ * it have to run with {@code exec:exec} rather than {@code exec:java}.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+  private static final long READY_TIMEOUT_NANOS = 120_000_000_000L;
+
+  private final Process process;
+  private final int port;
+
+  private ApplicationProcess(Process process, int port) {
+    this.process = process;
+    this.port = port;
+  }
+
+  /** Starts the application with the given arguments and returns once it is ready. */
+  static ApplicationProcess start(String... arguments) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(SpringJqwikDemoApplication.class.getName());
+    command.add("--server.port=" + port);
+    command.add("--spring.main.banner-mode=off");
+    command.addAll(List.of(arguments));
+    Process process =
+        new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    ApplicationProcess application = new ApplicationProcess(process, port);
+    try {
+      application.awaitReady();
+    } catch (Exception e) {
+      application.close();
+      throw e;
+    }
+    return application;
+  }
+
+  URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    process.waitFor();
+  }
+
+  private void awaitReady() throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(uri("/actuator/health/readiness")).build();
+    long deadline = System.nanoTime() + READY_TIMEOUT_NANOS;
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      while (System.nanoTime() < deadline && process.isAlive()) {
+        try {
+          if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+            return;
+          }
+        } catch (ConnectException e) {
+          // Not listening yet
+        }
+        Thread.sleep(10);
+      }
+    }
+    throw new IOException("The application did not become ready on port " + port);
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
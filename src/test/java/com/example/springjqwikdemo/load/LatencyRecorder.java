@@ -0,0 +1,53 @@
+package com.example.springjqwikdemo.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Collects latencies from many threads and reports throughput and percentiles. */
+final class LatencyRecorder {
+
+  private long[] latencies = new long[1024];
+  private int count;
+  private int errors;
+
+  synchronized void record(long nanos) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = nanos;
+  }
+
+  synchronized void recordError() {
+    errors++;
+  }
+
+  synchronized String report(String label, long elapsedNanos) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    double seconds = elapsedNanos / 1e9;
+    return String.format(
+        "%-12s %8d requests %6d errors %10.1f req/s   p50 %8.2f ms   p90 %8.2f ms"
+            + "   p99 %8.2f ms   p99.9 %8.2f ms   max %8.2f ms",
+        label,
+        count,
+        errors,
+        count / seconds,
+        millis(percentile(sorted, 0.50)),
+        millis(percentile(sorted, 0.90)),
+        millis(percentile(sorted, 0.99)),
+        millis(percentile(sorted, 0.999)),
+        millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+  }
+
+  static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,210 @@
+package com.example.springjqwikdemo.load;
+
+import com.example.springjqwikdemo.benchmark.BenchmarkData;
+import com.example.springjqwikdemo.controller.FrituurbaarModule;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop load against a running application: requests to {@code /api/frituren} and {@code
+ * /api/bakken} are started at fixed target rates, whether or not earlier requests have completed.
+ * Every request runs on its own virtual thread.
+ *
+ * <p>A closed loop that waits for each response before sending the next one slows down with the
+ * server and so never measures the requests that would have queued up behind a stall (coordinated
+ * omission). Here latency is counted from the moment a request was scheduled to start, not from
+ * when it was actually sent; the service time from sending to the response is printed alongside.
+ *
+ * <p>Bodies come from the property test generators: mostly regular orders, some with large counts
+ * and some edge cases with zero or negative sizes, and word lists from a handful of words to ten
+ * thousand. Every request gets an order of its own, sampled by the pacer while it waits for the
+ * request's start time, so the {@code frituren} cache only answers the orders that happen to
+ * repeat, as it would for real customers. Word lists come from a fixed set, since {@code /bakken}
+ * has no cache.
+ *
+ * <p>Throughput is the number of answered requests divided by the scheduled duration; requests
+ * still running when the schedule ends are waited for, but that wait does not dilute the rate.
+ *
+ * <p>Start the application, then run {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.springjqwikdemo.load.LoadGenerator
+ * -Dexec.args="[frituren/s] [bakken/s] [seconds] [base url]"}.
+ */
+public class LoadGenerator {
+
+  private static final int WORD_LISTS = 1000;
+
+  public static void main(String[] args) throws Exception {
+    double friturenRate = args.length > 0 ? Double.parseDouble(args[0]) : 200;
+    double bakkenRate = args.length > 1 ? Double.parseDouble(args[1]) : 200;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+    URI api = URI.create((args.length > 3 ? args[3] : "http://localhost:8080") + "/api/");
+
+    ObjectMapper mapper = new ObjectMapper().registerModule(new FrituurbaarModule());
+    List<byte[]> wordLists = new ArrayList<>(WORD_LISTS);
+    for (int i = 0; i < WORD_LISTS; i++) {
+      wordLists.add(mapper.writeValueAsBytes(words(i)));
+    }
+    Map<BenchmarkData.Mix, LongFunction<List<Frituurbaar>>> orders =
+        new EnumMap<>(BenchmarkData.Mix.class);
+    for (BenchmarkData.Mix mix : BenchmarkData.Mix.values()) {
+      orders.put(mix, BenchmarkData.orderSource(mix));
+    }
+
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client =
+            HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(threads)
+                .build()) {
+      HttpResponse<Void> health =
+          client.send(
+              HttpRequest.newBuilder(api.resolve("health")).build(),
+              HttpResponse.BodyHandlers.discarding());
+      if (health.statusCode() != 200) {
+        throw new IOException("The application is not healthy: " + health.statusCode());
+      }
+
+      Target frituren =
+          new Target(
+              "frituren",
+              api.resolve("frituren"),
+              i -> serialize(mapper, orders.get(mix(i)).apply(i)),
+              friturenRate);
+      Target bakken =
+          new Target(
+              "bakken",
+              api.resolve("bakken"),
+              i -> wordLists.get((int) (i % WORD_LISTS)),
+              bakkenRate);
+      long start = System.nanoTime();
+      long end = start + TimeUnit.SECONDS.toNanos(seconds);
+      try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+        List<Thread> pacers = new ArrayList<>();
+        for (Target target : List.of(frituren, bakken)) {
+          pacers.add(Thread.ofPlatform().start(() -> target.run(client, requests, start, end)));
+        }
+        for (Thread pacer : pacers) {
+          pacer.join();
+        }
+      }
+      long window = end - start;
+
+      System.out.printf(
+          "Open loop for %d s: %.0f frituren/s and %.0f bakken/s targeted%n",
+          seconds, friturenRate, bakkenRate);
+      for (Target target : List.of(frituren, bakken)) {
+        System.out.println(target.corrected.report(target.name, window));
+        System.out.println(target.serviceTime.report(target.name + " svc", window));
+        System.out.printf(
+            "%-12s fell behind its schedule by up to %.1f ms%n",
+            target.name, target.maxLagNanos / 1e6);
+      }
+    }
+  }
+
+  /** Mostly regular orders, every tenth with large counts and every twentieth an edge case. */
+  private static BenchmarkData.Mix mix(long i) {
+    return i % 20 == 0
+        ? BenchmarkData.Mix.EDGE_CASES
+        : i % 10 == 0 ? BenchmarkData.Mix.LARGE : BenchmarkData.Mix.MIXED;
+  }
+
+  private static byte[] serialize(ObjectMapper mapper, Object body) {
+    try {
+      return mapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Mostly short word lists, every tenth long and every twentieth empty or only potatoes. */
+  private static List<String> words(int i) {
+    if (i % 40 == 0) {
+      return List.of();
+    }
+    if (i % 20 == 0) {
+      return BenchmarkData.words(50, 1.0);
+    }
+    return BenchmarkData.words(i % 10 == 0 ? 10_000 : 10 + i % 90, 0.2);
+  }
+
+  /** Requests to one endpoint at a fixed rate, with their latencies. */
+  private static final class Target {
+
+    final String name;
+    final URI uri;
+    final LongFunction<byte[]> bodies;
+    final long intervalNanos;
+    final LatencyRecorder corrected = new LatencyRecorder();
+    final LatencyRecorder serviceTime = new LatencyRecorder();
+    long maxLagNanos;
+
+    Target(String name, URI uri, LongFunction<byte[]> bodies, double rate) {
+      this.name = name;
+      this.uri = uri;
+      this.bodies = bodies;
+      this.intervalNanos =
+          rate > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate)) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Starts a request at every interval from {@code start} until {@code end}. The body of the next
+     * request is prepared before waiting for its start time.
+     */
+    void run(HttpClient client, ExecutorService requests, long start, long end) {
+      for (long i = 0; ; i++) {
+        long intended = start + i * intervalNanos;
+        if (intervalNanos == Long.MAX_VALUE || intended >= end) {
+          return;
+        }
+        byte[] body = bodies.apply(i);
+        long now;
+        while ((now = System.nanoTime()) < intended) {
+          LockSupport.parkNanos(intended - now);
+        }
+        maxLagNanos = Math.max(maxLagNanos, now - intended);
+        requests.submit(() -> send(client, body, intended));
+      }
+    }
+
+    private void send(HttpClient client, byte[] body, long intended) {
+      HttpRequest request =
+          HttpRequest.newBuilder(uri)
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+              .build();
+      long sent = System.nanoTime();
+      try {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        long done = System.nanoTime();
+        if (response.statusCode() == 200) {
+          corrected.record(done - intended);
+          serviceTime.record(done - sent);
+        } else {
+          corrected.recordError();
+          serviceTime.recordError();
+        }
+      } catch (IOException e) {
+        corrected.recordError();
+        serviceTime.recordError();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.springjqwikdemo.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test comparing Tomcat's platform-thread pool with the {@code virtual} profile. Many
+ * clients upload {@code /api/bakken} bodies slowly, which keeps a request thread busy for the
+ * whole upload. Starts the application twice, each time in a fresh JVM on a free port, so the
+ * second thread model does not inherit code the JIT compiled for the first. Prints throughput and
+ * latency percentiles for both thread models.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dexec.executable=java
+ * -Dexec.classpathScope=test -Dexec.args="-classpath %classpath
+ * com.example.springjqwikdemo.load.ThreadModelComparison [clients] [requests per client] [upload
+ * chunk delay ms]"}.
+ */
+public class ThreadModelComparison {
+
+  private static final int CHUNKS = 20;
+
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    long chunkDelayMillis = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+    String platform = run("platform", clients, requestsPerClient, chunkDelayMillis);
+    String virtual = run("virtual", clients, requestsPerClient, chunkDelayMillis);
+    System.out.printf(
+        "%d clients x %d slow uploads (%d chunks, %d ms apart)%n",
+        clients, requestsPerClient, CHUNKS, chunkDelayMillis);
+    System.out.println(platform);
+    System.out.println(virtual);
+  }
+
+  private static String run(String mode, int clients, int requestsPerClient, long chunkDelay)
+      throws Exception {
+    String[] arguments =
+        mode.equals("virtual") ? new String[] {"--spring.profiles.active=virtual"} : new String[0];
+    try (ApplicationProcess application = ApplicationProcess.start(arguments);
+        ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client =
+            HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .build()) {
+      URI uri = application.uri("/api/bakken");
+      LatencyRecorder recorder = new LatencyRecorder();
+      long start = System.nanoTime();
+      try (ExecutorService load = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int c = 0; c < clients; c++) {
+          load.submit(
+              () -> {
+                for (int r = 0; r < requestsPerClient; r++) {
+                  send(client, uri, chunkDelay, recorder);
+                }
+              });
+        }
+      }
+      return recorder.report(mode, System.nanoTime() - start);
+    }
+  }
+
+  private static void send(HttpClient client, URI uri, long chunkDelay, LatencyRecorder recorder) {
+    HttpRequest request =
+        HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new SlowBody(chunkDelay)))
+            .build();
+    long start = System.nanoTime();
+    try {
+      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+      if (response.statusCode() == 200) {
+        recorder.record(System.nanoTime() - start);
+      } else {
+        recorder.recordError();
+      }
+    } catch (IOException e) {
+      recorder.recordError();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** A JSON word array delivered in chunks with a pause before each chunk. */
+  private static final class SlowBody extends InputStream {
+
+    private static final byte[] OPEN = "[\"aardappel\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHUNK =
+        ",\"pieper\",\"kapsalon\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.UTF_8);
+
+    private final long delayMillis;
+    private int chunk;
+    private byte[] current = OPEN;
+    private int position;
+
+    SlowBody(long delayMillis) {
+      this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      if (position == current.length) {
+        if (current == CLOSE) {
+          return -1;
+        }
+        pause();
+        current = ++chunk < CHUNKS ? CHUNK : CLOSE;
+        position = 0;
+      }
+      int n = Math.min(length, current.length - position);
+      System.arraycopy(current, position, buffer, offset, n);
+      position += n;
+      return n;
+    }
+
+    private void pause() throws IOException {
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+}
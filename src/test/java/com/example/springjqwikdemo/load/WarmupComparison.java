@@ -0,0 +1,90 @@
+package com.example.springjqwikdemo.load;
+
+import com.example.springjqwikdemo.benchmark.BenchmarkData;
+import com.example.springjqwikdemo.controller.FrituurbaarModule;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency of the first requests after startup, with and without {@code snackbar.warmup}. Every
+ * mode gets a fresh JVM, since a JVM that already ran the other mode would be warm. Once the
+ * readiness probe answers, requests alternate between {@code /api/frituren} and {@code
+ * /api/bakken}, one at a time, and percentiles are printed for requests 1-10, 11-100, 101-1000 and
+ * so on.
+ *
+ * <p>The child JVMs get this JVM's class path, so run it with {@code exec:exec}: {@code mvn
+ * test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test -Dexec.args="-classpath
+ * %classpath com.example.springjqwikdemo.load.WarmupComparison [requests] [warm-up seconds]"}.
+ */
+public class WarmupComparison {
+
+  public static void main(String[] args) throws Exception {
+    int requests = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int warmupSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+    List<String> cold = run(false, requests, warmupSeconds);
+    List<String> warm = run(true, requests, warmupSeconds);
+    System.out.printf("First %d requests after readiness, one at a time%n", requests);
+    cold.forEach(System.out::println);
+    warm.forEach(System.out::println);
+  }
+
+  private static List<String> run(boolean warmup, int requests, int warmupSeconds)
+      throws Exception {
+    String mode = warmup ? "warm-up" : "cold";
+    // Bodies are prepared up front, so generating them does not count as latency
+    List<byte[]> prepared = new ArrayList<>(requests);
+    ObjectMapper mapper = new ObjectMapper().registerModule(new FrituurbaarModule());
+    List<List<Frituurbaar>> orders =
+        BenchmarkData.orders(BenchmarkData.Mix.MIXED, (requests + 1) / 2);
+    for (int i = 0; i < requests; i++) {
+      Object body = i % 2 == 0 ? orders.get(i / 2) : BenchmarkData.words(10 + i % 100, 0.2);
+      prepared.add(mapper.writeValueAsBytes(body));
+    }
+
+    long started = System.nanoTime();
+    try (ApplicationProcess application =
+            ApplicationProcess.start(
+                "--snackbar.warmup.enabled=" + warmup,
+                "--snackbar.warmup.duration=" + warmupSeconds + "s");
+        HttpClient client =
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+      URI frituren = application.uri("/api/frituren");
+      URI bakken = application.uri("/api/bakken");
+      List<String> lines = new ArrayList<>();
+      lines.add(
+          String.format("%-8s ready after %d ms", mode, (System.nanoTime() - started) / 1_000_000));
+      int from = 0;
+      for (int to = 10; from < requests; to *= 10) {
+        int last = Math.min(to, requests);
+        LatencyRecorder recorder = new LatencyRecorder();
+        long rangeStarted = System.nanoTime();
+        for (int i = from; i < last; i++) {
+          HttpRequest request =
+              HttpRequest.newBuilder(i % 2 == 0 ? frituren : bakken)
+                  .header("Content-Type", "application/json")
+                  .POST(HttpRequest.BodyPublishers.ofByteArray(prepared.get(i)))
+                  .build();
+          long start = System.nanoTime();
+          HttpResponse<Void> response =
+              client.send(request, HttpResponse.BodyHandlers.discarding());
+          if (response.statusCode() == 200) {
+            recorder.record(System.nanoTime() - start);
+          } else {
+            recorder.recordError();
+          }
+        }
+        String label = mode + " " + (from + 1) + "-" + last;
+        lines.add(recorder.report(label, System.nanoTime() - rangeStarted));
+        from = last;
+      }
+      return lines;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+import net.jqwik.api.lifecycle.AfterContainer;
+
+/**
+ * Demonstreert: Geneste collecties genereren (een lijst van bestellingen).
+ *
+ * <p>Parallel verwerken mag aan het resultaat niets veranderen: elke bestelling in de batch
+ * levert hetzelfde op als een losse aanroep van frituren(), in dezelfde volgorde.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class BatchOrderServiceTest {
+
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+  private final SnackbarService snackbarService = new SnackbarService();
+  private final BatchOrderService service = new BatchOrderService(snackbarService, EXECUTOR);
+
+  @AfterContainer
+  static void shutdown() {
+    EXECUTOR.shutdown();
+  }
+
+  @Property
+  void propertyBasedTest_BatchMatchesSequentialFrituren(
+      @ForAll @Size(min = 0, max = 20) List<@Size(max = 5) List<Frituurbaar>> orders) {
+    // Given
+    List<BatchOrder> batch = new ArrayList<>();
+    for (int i = 0; i < orders.size(); i++) {
+      batch.add(new BatchOrder("order-" + i, orders.get(i)));
+    }
+
+    // When
+    List<BatchOrderResult> results = service.process(batch);
+
+    // Then
+    assertThat(results).hasSize(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      assertThat(results.get(i).orderId()).isEqualTo("order-" + i);
+      assertThat(results.get(i).items()).isEqualTo(snackbarService.frituren(orders.get(i)));
+      assertThat(results.get(i).error()).isNull();
+    }
+  }
+
+  @Example
+  @Label("Een foute bestelling laat de rest van de batch slagen")
+  void failingOrderDoesNotFailBatch() {
+    // Given - Een kroket zonder type kan niet gefrituurd worden
+    List<BatchOrder> batch =
+        List.of(
+            new BatchOrder("goed", List.of(new Frikandellen(2))),
+            new BatchOrder("fout", List.of(new Kroketten(null, 1))),
+            new BatchOrder("leeg", null));
+
+    // When
+    List<BatchOrderResult> results = service.process(batch);
+
+    // Then
+    assertThat(results.get(0).items()).hasSize(2);
+    assertThat(results.get(1).error()).isNotBlank();
+    assertThat(results.get(2).error()).isNotBlank();
+  }
+
+  @Example
+  @Label("Een lege plek in de batch wordt een fout voor alleen die plek")
+  void nullOrderDoesNotFailBatch() {
+    // Given - JSON [{"orderId": "goed", ...}, null] levert een null element op
+    List<BatchOrder> batch = new ArrayList<>();
+    batch.add(new BatchOrder("goed", List.of(new Frikandellen(2))));
+    batch.add(null);
+    batch.add(new BatchOrder("ook-goed", List.of(new Cervela(1))));
+
+    // When
+    List<BatchOrderResult> results = service.process(batch);
+
+    // Then
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).items()).hasSize(2);
+    assertThat(results.get(1).orderId()).isNull();
+    assertThat(results.get(1).error()).isNotBlank();
+    assertThat(results.get(2).items()).hasSize(1);
+    assertThat(CostEstimator.outputItems(batch)).isEqualTo(3);
+  }
+}
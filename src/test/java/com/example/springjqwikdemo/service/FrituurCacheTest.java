@@ -0,0 +1,54 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Caching mag het gedrag niet veranderen.
+ *
+ * <p>Met en zonder cache moet frituren() hetzelfde opleveren, ook als dezelfde bestelling
+ * opnieuw (als gelijke maar andere lijst) binnenkomt.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class FrituurCacheTest {
+
+  private final SnackbarService uncached = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_CachedResultsMatchUncached(
+      @ForAll @Size(min = 0, max = 10) List<Frituurbaar> items) {
+    // Given
+    FrituurCache cache = new FrituurCache(new SnackbarProperties.Cache(true, 64, 1_000));
+    SnackbarService cached =
+        new SnackbarService(List.of(), new SnackbarProperties.Frituren(0, 0), cache);
+
+    // When - Twee keer dezelfde bestelling, de tweede keer als nieuwe lijst
+    List<String> first = cached.frituren(items);
+    List<String> second = cached.frituren(new ArrayList<>(items));
+
+    // Then - Zelfde resultaat, de tweede keer uit de cache
+    assertThat(first).isEqualTo(uncached.frituren(items));
+    assertThat(second).isSameAs(first);
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+    assertThat(cache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Example
+  @Label("Grote bestellingen en een uitgeschakelde cache gaan altijd langs de frituur")
+  void bypassesCacheWhenDisabledOrTooLarge() {
+    FrituurCache small = new FrituurCache(new SnackbarProperties.Cache(true, 2, 1_000));
+    SnackbarService service =
+        new SnackbarService(List.of(), new SnackbarProperties.Frituren(0, 0), small);
+    List<Frituurbaar> large = List.of(new Frikandellen(1), new Cervela(1), new Bereklauw(1));
+
+    assertThat(service.frituren(large)).isNotSameAs(service.frituren(large));
+    assertThat(small.stats().requestCount()).isZero();
+    assertThat(FrituurCache.disabled().stats().requestCount()).isZero();
+  }
+}
@@ -0,0 +1,156 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Eigenschappen van een concurrent component.
+ *
+ * <p>Hoe de gegenereerde bestellingen ook door elkaar binnenkomen, samen houden ze nooit meer
+ * dan het budget vast, en de kostenschatting klopt precies met wat er gefrituurd wordt.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class OrderAdmissionTest {
+
+  private final SnackbarService service = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_EstimateMatchesFriedItems(
+      @ForAll @Size(max = 20) List<Frituurbaar> order) {
+    assertThat(CostEstimator.outputItems(order)).isEqualTo(service.frituren(order).size());
+  }
+
+  /**
+   * Demonstreert: Een invariant onder gelijktijdigheid
+   *
+   * Acht threads laten gegenereerde kosten toe en geven ze weer vrij; de som van wat op enig
+   * moment is toegelaten blijft binnen het budget.
+   */
+  @Property(tries = 10)
+  void propertyBasedTest_AdmittedOrdersStayWithinBudget(
+      @ForAll @Size(min = 1, max = 200) List<@LongRange(min = 0, max = 100) Long> costs)
+      throws Exception {
+    // Given
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(150, 0, 1_000, Duration.ofSeconds(5)));
+    AtomicLong held = new AtomicLong();
+    AtomicLong maxHeld = new AtomicLong();
+
+    // When
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<Void>> orders = new ArrayList<>();
+      for (long cost : costs) {
+        orders.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  OrderAdmission.Permit permit = admission.admit(cost);
+                  maxHeld.accumulateAndGet(held.addAndGet(cost), Math::max);
+                  Thread.yield();
+                  held.addAndGet(-cost);
+                  permit.release();
+                },
+                threads));
+      }
+      CompletableFuture.allOf(orders.toArray(CompletableFuture[]::new)).join();
+    } finally {
+      threads.shutdown();
+    }
+
+    // Then
+    assertThat(maxHeld.get()).isLessThanOrEqualTo(150);
+    assertThat(admission.inFlight()).isZero();
+    assertThat(admission.waiting()).isZero();
+  }
+
+  @Property
+  void propertyBasedTest_OrdersOverTheLimitAreRejectedOutright(
+      @ForAll @LongRange(min = 101) long cost) {
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(1_000, 100, 0, null));
+
+    assertThatThrownBy(() -> admission.admit(cost))
+        .isInstanceOfSatisfying(
+            OrderRejectedException.class, e -> assertThat(e.tooLarge()).isTrue());
+    assertThat(admission.inFlight()).isZero();
+  }
+
+  @Example
+  @Label("Een volle wachtrij weigert direct, vrijgegeven budget laat de wachtende door")
+  void fullQueueRejectsImmediately() throws Exception {
+    // Given - Het hele budget is vergeven en er wacht al één bestelling
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(10, 0, 1, Duration.ofSeconds(10)));
+    OrderAdmission.Permit first = admission.admit(10);
+    CompletableFuture<OrderAdmission.Permit> waiting =
+        CompletableFuture.supplyAsync(() -> admission.admit(5));
+    while (admission.waiting() < 1) {
+      Thread.onSpinWait();
+    }
+
+    // When & Then
+    assertThatThrownBy(() -> admission.admit(1))
+        .isInstanceOfSatisfying(
+            OrderRejectedException.class, e -> assertThat(e.tooLarge()).isFalse());
+
+    first.release();
+    first.release();
+    waiting.get().release();
+    assertThat(admission.inFlight()).isZero();
+  }
+
+  @Example
+  @Label("Wachtende bestellingen komen op volgorde binnen, een grote wordt niet ingehaald")
+  void largeOrderIsNotOvertakenBySmallOnes() throws Exception {
+    // Given - Het hele budget is vergeven, eerst wacht een grote en daarna een kleine bestelling
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(10, 0, 8, Duration.ofSeconds(10)));
+    OrderAdmission.Permit first = admission.admit(6);
+    CompletableFuture<OrderAdmission.Permit> large =
+        CompletableFuture.supplyAsync(() -> admission.admit(10));
+    while (admission.waiting() < 1) {
+      Thread.onSpinWait();
+    }
+    CompletableFuture<OrderAdmission.Permit> small =
+        CompletableFuture.supplyAsync(() -> admission.admit(1));
+    while (admission.waiting() < 2) {
+      Thread.onSpinWait();
+    }
+
+    // When - De kleine past al wel in het budget, maar staat achter de grote
+    assertThat(small).isNotDone();
+    first.release();
+    OrderAdmission.Permit largePermit = large.get();
+
+    // Then - De grote gaat voor, de kleine volgt pas als de grote klaar is
+    assertThat(small).isNotDone();
+    assertThat(admission.waiting()).isEqualTo(1);
+    largePermit.release();
+    small.get().release();
+    assertThat(admission.inFlight()).isZero();
+    assertThat(admission.waiting()).isZero();
+  }
+
+  @Example
+  void waitingRunsOutAfterMaxWait() {
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(10, 0, 8, Duration.ofMillis(20)));
+    admission.admit(10);
+
+    assertThatThrownBy(() -> admission.admit(1)).isInstanceOf(OrderRejectedException.class);
+    assertThat(admission.waiting()).isZero();
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Een equivalentie-eigenschap ("gelijk op groepering na").
+ *
+ * <p>Normaliseren voegt regels samen, dus de volgorde van de items verandert. De multiset van
+ * gefrituurde items moet precies gelijk blijven, ook voor negatieve en lege aantallen.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class OrderNormalizerTest {
+
+  private final SnackbarService service = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_TotalsMatchFriedItems(
+      @ForAll("ordersIncludingEdgeCases") List<Frituurbaar> order) {
+    // Given
+    Map<String, Long> expected =
+        service.frituren(order).stream()
+            .collect(Collectors.groupingBy(item -> item, Collectors.counting()));
+
+    // When
+    List<ItemCount> totals = service.friturenTotals(order);
+
+    // Then - Dezelfde items, op de volgorde na, met één telling per item
+    assertThat(totals)
+        .extracting(ItemCount::item)
+        .doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(expected.keySet());
+    for (ItemCount total : totals) {
+      assertThat(total.count()).isEqualTo(expected.get(total.item()));
+    }
+    assertThat(OrderNormalizer.normalize(order).totalItems())
+        .isEqualTo(service.frituren(order).size());
+  }
+
+  @Property
+  void propertyBasedTest_NormalizedOrderIsCompact(
+      @ForAll @Size(min = 0, max = 50) List<Frituurbaar> order) {
+    // When
+    NormalizedOrder normalized = OrderNormalizer.normalize(order);
+
+    // Then - Hoogstens één regel per subtype en kroketsoort
+    assertThat(normalized.lines())
+        .isLessThanOrEqualTo(4 + Krokettype.values().length)
+        .isLessThanOrEqualTo(order.size());
+    assertThat(OrderNormalizer.normalize(order.reversed())).isEqualTo(normalized);
+  }
+
+  @Example
+  @Label("Dubbele kroketregels worden samengevoegd")
+  void mergesDuplicateLines() {
+    NormalizedOrder normalized =
+        OrderNormalizer.normalize(
+            List.of(
+                new Kroketten(Krokettype.KAAS, 2),
+                new Frikandellen(1),
+                new Kroketten(Krokettype.KAAS, 3)));
+
+    assertThat(normalized.kroketten(Krokettype.KAAS)).isEqualTo(5);
+    assertThat(normalized.frikandellen()).isEqualTo(1);
+    assertThat(normalized.lines()).isEqualTo(2);
+  }
+
+  @Provide
+  Arbitrary<List<Frituurbaar>> ordersIncludingEdgeCases() {
+    return Arbitraries.<Frituurbaar>oneOf(
+            DomainArbitraries.frituurbaar(),
+            DomainArbitraries.patatenIncludingEdgeCases(),
+            DomainArbitraries.frikandellenIncludingEdgeCases())
+        .list()
+        .ofMaxSize(30);
+  }
+}
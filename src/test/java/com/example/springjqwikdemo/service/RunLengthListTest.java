@@ -0,0 +1,90 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Een compacte datastructuur testen tegen een eenvoudig referentiemodel.
+ *
+ * <p>Elke eigenschap bouwt dezelfde runs op in een RunLengthList en in een gewone ArrayList,
+ * en eist dat beide lijsten zich identiek gedragen.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class RunLengthListTest {
+
+  @Property
+  void propertyBasedTest_BehavesLikeExpandedList(
+      @ForAll @Size(min = 0, max = 10) List<@From("runs") Run> runs) {
+    // Given
+    RunLengthList.Builder builder = RunLengthList.builder();
+    List<String> expected = new ArrayList<>();
+    for (Run run : runs) {
+      builder.add(run.value(), run.count());
+      for (int i = 0; i < run.count(); i++) {
+        expected.add(run.value());
+      }
+    }
+
+    // When
+    RunLengthList list = builder.build();
+
+    // Then - size, get, iterator en equals komen overeen met het referentiemodel
+    assertThat(list).hasSize(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(list.get(i)).isEqualTo(expected.get(i));
+    }
+    assertThat(new ArrayList<>(list)).isEqualTo(expected);
+    assertThat(list).isEqualTo(expected);
+    assertThat(list.hashCode()).isEqualTo(expected.hashCode());
+  }
+
+  @Property
+  void propertyBasedTest_ConsecutiveRunsAreMerged(
+      @ForAll @Size(min = 0, max = 10) List<@From("runs") Run> runs) {
+    // When
+    RunLengthList list = RunLengthList.builder().addAll(build(runs)).build();
+
+    // Then - Twee opeenvolgende runs hebben nooit dezelfde waarde
+    for (int run = 1; run < list.runCount(); run++) {
+      assertThat(list.runValue(run)).isNotEqualTo(list.runValue(run - 1));
+    }
+    assertThat(list).isEqualTo(build(runs));
+  }
+
+  @Example
+  void isReadOnly() {
+    RunLengthList list = RunLengthList.builder().add("friet", 3).build();
+
+    assertThatThrownBy(() -> list.add("friet")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> list.set(0, "friet"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Example
+  void rejectsResultsLargerThanAList() {
+    RunLengthList.Builder builder = RunLengthList.builder().add("friet", Integer.MAX_VALUE);
+
+    assertThatThrownBy(() -> builder.add("friet", 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Provide
+  Arbitrary<Run> runs() {
+    return Combinators.combine(
+            Arbitraries.of("friet", "gefrituurde frikandel", "gefrituurde cervela"),
+            Arbitraries.integers().between(-2, 20))
+        .as(Run::new);
+  }
+
+  private static RunLengthList build(List<Run> runs) {
+    RunLengthList.Builder builder = RunLengthList.builder();
+    runs.forEach(run -> builder.add(run.value(), run.count()));
+    return builder.build();
+  }
+
+  record Run(String value, int count) {}
+}
@@ -0,0 +1,47 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Bijwerkingen (metrics) controleren tegen de functionele uitvoer.
+ *
+ * <p>De tellers per subtype moeten samen precies evenveel items tellen als frituren() teruggeeft.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class SnackbarMetricsTest {
+
+  @Property
+  void propertyBasedTest_CountersMatchOutput(
+      @ForAll @Size(min = 0, max = 10) List<Frituurbaar> items) {
+    // Given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SnackbarService service = new SnackbarService(List.of(new SnackbarMetrics(registry)));
+
+    // When
+    List<String> result = service.frituren(items);
+
+    // Then
+    double fried =
+        registry.find("snackbar.fried.items").counters().stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    double kroketten =
+        registry.find("snackbar.fried.kroketten").counters().stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    assertThat(fried).isEqualTo(result.size());
+    assertThat(kroketten)
+        .isEqualTo(result.stream().filter(item -> item.endsWith(" kroket")).count());
+    DistributionSummary lines =
+        registry.get("snackbar.request.lines").tag("endpoint", "frituren").summary();
+    assertThat(lines.totalAmount()).isEqualTo(items.size());
+  }
+}
@@ -2,7 +2,9 @@ package com.example.springjqwikdemo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.example.springjqwikdemo.config.SnackbarProperties;
 import com.example.springjqwikdemo.domain.*;
+import java.util.ArrayList;
 import java.util.List;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.Size;
@@ -94,6 +96,48 @@ class SnackbarServiceFrituurbaarTest {
     assertThat(result.size()).isGreaterThanOrEqualTo(items.size());
   }
 
+  /**
+   * Demonstreert: Twee implementaties tegen elkaar testen
+   *
+   * De getelde variant bouwt nooit de volledige lijst op. Uitgepakt moet hij precies
+   * dezelfde lijst opleveren als frituren(), voor elke gegenereerde bestelling.
+   */
+  @Property
+  void propertyBasedTest_CountedMatchesExpanded(
+      @ForAll @Size(min = 0, max = 10) List<Frituurbaar> items) {
+    // When
+    List<ItemCount> counted = service.friturenCounted(items);
+
+    // Then - Uitpakken geeft dezelfde lijst, en opeenvolgende runs zijn altijd samengevoegd
+    List<String> expanded = new ArrayList<>();
+    for (ItemCount run : counted) {
+      for (long i = 0; i < run.count(); i++) {
+        expanded.add(run.item());
+      }
+    }
+    assertThat(expanded).isEqualTo(service.frituren(items));
+    for (int i = 1; i < counted.size(); i++) {
+      assertThat(counted.get(i).item()).isNotEqualTo(counted.get(i - 1).item());
+    }
+  }
+
+  /**
+   * Demonstreert: Een parallelle implementatie tegen de sequentiële testen
+   *
+   * Met een drempel van 1 regel en kleine chunks gaat elke bestelling door het fork-join pad.
+   * Het resultaat moet element voor element gelijk zijn aan de sequentiële verwerking.
+   */
+  @Property
+  void propertyBasedTest_ParallelMatchesSequential(
+      @ForAll @Size(min = 0, max = 200) List<Frituurbaar> items) {
+    // Given
+    SnackbarService parallel =
+        new SnackbarService(List.of(), new SnackbarProperties.Frituren(1, 7));
+
+    // When & Then
+    assertThat(parallel.frituren(items)).isEqualTo(service.frituren(items));
+  }
+
   /**
    * Demonstreert: @Example voor deterministische testgevallen
    *
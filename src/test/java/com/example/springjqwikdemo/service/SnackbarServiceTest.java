@@ -2,8 +2,11 @@ package com.example.springjqwikdemo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.example.springjqwikdemo.domain.ItemCount;
+import java.util.ArrayList;
 import java.util.List;
 import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Size;
 
 /**
@@ -33,7 +36,7 @@ class SnackbarServiceTest {
   void propertyBasedTest_GeneratesRandomListsWithSizeConstraint(
       @ForAll @Size(min = 0, max = 10) List<String> otherWords) {
     // Given - jqwik genereert willekeurige lijsten van strings
-    List<String> input = new java.util.ArrayList<>(otherWords);
+    List<String> input = new ArrayList<>(otherWords);
     input.add("aardappel");
 
     // When
@@ -55,7 +58,7 @@ class SnackbarServiceTest {
       @ForAll @Size(min = 0, max = 5) List<String> otherWords,
       @ForAll @Size(min = 1, max = 5) List<String> aardappels) {
     // Given - jqwik genereert combinaties van beide lijsten
-    List<String> input = new java.util.ArrayList<>(otherWords);
+    List<String> input = new ArrayList<>(otherWords);
     aardappels.forEach(word -> input.add("aardappel"));
 
     // When
@@ -84,6 +87,31 @@ class SnackbarServiceTest {
     assertThat(result).isEmpty();
   }
 
+  /**
+   * Demonstreert: Een eigenschap over twee methodes
+   *
+   * De getelde variant van processWords moet in totaal evenveel "friet" opleveren als de
+   * uitgepakte lijst lang is.
+   */
+  @Property
+  void propertyBasedTest_CountedWordsMatchExpandedSize(
+      @ForAll @Size(min = 0, max = 5) List<@From("nonTargetWords") String> otherWords,
+      @ForAll @IntRange(max = 5) int piepers) {
+    // Given
+    List<String> input = new ArrayList<>(otherWords);
+    for (int i = 0; i < piepers; i++) {
+      input.add("pieper");
+    }
+
+    // When
+    List<ItemCount> counted = service.processWordsCounted(input);
+
+    // Then
+    long total = counted.stream().mapToLong(ItemCount::count).sum();
+    assertThat(total).isEqualTo(service.processWords(input).size());
+    assertThat(counted).hasSizeLessThanOrEqualTo(1);
+  }
+
   /**
    * Aangepaste data generator met jqwik's Arbitraries API.
    *
@@ -97,7 +125,7 @@ class SnackbarServiceTest {
         .alpha()
         .ofMinLength(1)
         .ofMaxLength(20)
-        .filter(word -> !word.equals("aardappel") && !word.equals("pieper"));
+        .filter(word -> !word.equalsIgnoreCase("aardappel") && !word.equalsIgnoreCase("pieper"));
   }
 
   /**
@@ -164,7 +192,7 @@ class SnackbarServiceTest {
       @ForAll @Size(min = 0, max = 15) List<@From("nonTargetWords") String> otherWords,
       @ForAll @Size(min = 1, max = 10) List<String> targetWords) {
     // Given - Twee onafhankelijke lijsten
-    List<String> allWords = new java.util.ArrayList<>(otherWords);
+    List<String> allWords = new ArrayList<>(otherWords);
     targetWords.forEach(w -> allWords.add("aardappel"));
 
     // When
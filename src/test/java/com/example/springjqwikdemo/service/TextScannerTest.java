@@ -0,0 +1,108 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.ItemCount;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Twee implementaties tegen elkaar testen.
+ *
+ * <p>Vrije tekst scannen moet hetzelfde opleveren als processWords() over de losse woorden van
+ * die tekst, ongeacht de scheidingstekens en ongeacht waar de tekst in stukken wordt geknipt.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class TextScannerTest {
+
+  private final SnackbarService service = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_ScanningTextMatchesProcessingItsWords(
+      @ForAll @Size(max = 50) List<@From("woorden") String> words,
+      @ForAll("scheidingstekens") String separator) throws IOException {
+    // Given
+    String text = String.join(separator, words);
+
+    // When
+    List<String> scanned = new ArrayList<>();
+    service.scanText(
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+        StandardCharsets.UTF_8,
+        (item, count) -> scanned.addAll(Collections.nCopies(count, item)));
+
+    // Then
+    assertThat(scanned).isEqualTo(service.processWords(words));
+  }
+
+  /**
+   * Demonstreert: Randgevallen in de invoer laten genereren
+   *
+   * Met een mapped window van enkele bytes valt elke woordgrens en elk Cyrillisch teken van twee
+   * bytes vroeg of laat precies op de rand van een window.
+   */
+  @Property(tries = 20)
+  void propertyBasedTest_MappedWindowsDoNotChangeTheResult(
+      @ForAll @Size(max = 30) List<@From("woorden") String> words,
+      @ForAll @IntRange(min = 16, max = 64) int window) throws IOException {
+    // Given
+    String text = String.join(" ", words);
+    Path file = Files.createTempFile("menu", ".txt");
+    try {
+      Files.writeString(file, text, StandardCharsets.UTF_8);
+
+      // When
+      TextScanner scanner = new TextScanner(WordMatcher.defaults(), (item, count) -> {});
+      try (FileChannel channel = FileChannel.open(file)) {
+        scanner.scan(channel, StandardCharsets.UTF_8, window);
+      }
+
+      // Then
+      long expected = service.processWords(words).size();
+      assertThat(scanner.output()).isEqualTo(expected);
+      assertThat(scanner.words()).isEqualTo(words.size());
+      assertThat(service.scanFileCounted(file, StandardCharsets.UTF_8))
+          .isEqualTo(scanner.totals());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Example
+  void totalsMatchesPerItem() throws IOException {
+    String text = "Eén AARDAPPEL, twee piepers en nog een pieper.\nAardappel!";
+
+    List<ItemCount> totals =
+        service.scanTextCounted(
+            new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8);
+
+    assertThat(totals).containsExactly(new ItemCount(SnackbarService.FRIET, 9 + 9 + 6));
+  }
+
+  @Provide
+  Arbitrary<String> woorden() {
+    return Arbitraries.frequencyOf(
+        Tuple.of(1, Arbitraries.of("aardappel", "Pieper", "AARDAPPEL", "\u0430\u0430rdappel")),
+        Tuple.of(3, Arbitraries.strings().alpha().numeric().ofMinLength(1).ofMaxLength(12)),
+        Tuple.of(1, Arbitraries.strings().withCharRange('\u0430', '\u044f').ofMinLength(1)));
+  }
+
+  @Provide
+  Arbitrary<String> scheidingstekens() {
+    return Arbitraries.strings()
+        .withChars(' ', '\n', '\t', ',', '.', '!', '-', '"', '\u00a0')
+        .ofMinLength(1)
+        .ofMaxLength(4);
+  }
+}
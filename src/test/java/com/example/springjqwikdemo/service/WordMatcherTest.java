@@ -0,0 +1,163 @@
+package com.example.springjqwikdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+import net.jqwik.api.constraints.UniqueElements;
+
+/**
+ * Demonstreert: Eigenschappen van een woordenboek dat varianten herkent.
+ *
+ * <p>jqwik genereert hoofdletters, witruimte en Cyrillische look-alikes rond de
+ * aardappelwoorden. Alle varianten moeten herkend worden, andere woorden nooit.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class WordMatcherTest {
+
+  private final WordMatcher matcher = WordMatcher.defaults();
+
+  /**
+   * Demonstreert: Een gegenereerde variant van een vast woord
+   *
+   * Elke letter wordt willekeurig in hoofdletter, Cyrillisch of ongewijzigd gezet en het woord
+   * krijgt willekeurige witruimte eromheen.
+   */
+  @Property
+  void propertyBasedTest_VariantsOfPotatoWordsMatch(@ForAll("varianten") String variant) {
+    // When
+    int match = matcher.match(variant);
+
+    // Then
+    assertThat(match).isNotEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.item(match)).isEqualTo(SnackbarService.FRIET);
+    assertThat(matcher.count(match)).isIn(9, 6);
+  }
+
+  @Property
+  void propertyBasedTest_OtherWordsNeverMatch(@ForAll("andereWoorden") String word) {
+    assertThat(matcher.match(word)).isEqualTo(WordMatcher.NO_MATCH);
+  }
+
+  /**
+   * Demonstreert: Een gegenereerd woordenboek
+   *
+   * Elk woord uit een willekeurig woordenboek moet zijn eigen uitvoerregel opleveren.
+   */
+  @Property
+  void propertyBasedTest_ConfiguredWordsMatchTheirOwnRule(
+      @ForAll @Size(min = 1, max = 50) @UniqueElements
+          List<@From("woordenboekWoorden") String> dictionary) {
+    // Given
+    List<SnackbarProperties.Word> words =
+        dictionary.stream()
+            .map(word -> new SnackbarProperties.Word(word, "item-" + word, 0))
+            .toList();
+    WordMatcher configured = WordMatcher.compile(words);
+
+    // Then
+    for (String word : dictionary) {
+      int match = configured.match(" " + word.toUpperCase(Locale.ROOT) + "\t");
+      assertThat(configured.item(match)).isEqualTo("item-" + word);
+      assertThat(configured.count(match)).isEqualTo(word.length());
+    }
+    assertThat(configured.match(dictionary.get(0) + "0")).isEqualTo(WordMatcher.NO_MATCH);
+  }
+
+  @Example
+  void matchesTheVariantsFromTheOldBugList() {
+    assertThat(matcher.match("AARDAPPEL")).isNotEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match(" aardappel ")).isNotEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match("\u0430\u0430rd\u0430\u0440\u0440el"))
+        .isNotEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match("")).isEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match("   ")).isEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match(null)).isEqualTo(WordMatcher.NO_MATCH);
+    assertThat(matcher.match("aardappels")).isEqualTo(WordMatcher.NO_MATCH);
+  }
+
+  @Example
+  void rejectsWordsThatFoldToTheSameKey() {
+    List<SnackbarProperties.Word> words =
+        List.of(
+            new SnackbarProperties.Word("pieper", null, 0),
+            new SnackbarProperties.Word("PIEPER ", null, 0));
+
+    assertThatThrownBy(() -> WordMatcher.compile(words))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Example
+  @Label("Matchen alloceert niets, ook niet voor varianten")
+  void matchingDoesNotAllocate() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    String variant = " \u0410\u0430rdappel ";
+    for (int i = 0; i < 10_000; i++) {
+      matcher.match(variant);
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    int matches = 0;
+    for (int i = 0; i < 100_000; i++) {
+      matches += matcher.match(variant) == WordMatcher.NO_MATCH ? 0 : 1;
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertThat(matches).isEqualTo(100_000);
+    assertThat(allocated).isLessThan(64 * 1024);
+  }
+
+  @Provide
+  Arbitrary<String> varianten() {
+    Arbitrary<String> word = Arbitraries.of("aardappel", "pieper");
+    Arbitrary<String> space =
+        Arbitraries.strings().withChars(' ', '\t', '\n', '\u00a0').ofMaxLength(3);
+    return Combinators.combine(space, word, space, Arbitraries.longs())
+        .as((before, w, after, seed) -> before + disguise(w, seed) + after);
+  }
+
+  @Provide
+  Arbitrary<String> andereWoorden() {
+    return Arbitraries.strings()
+        .alpha()
+        .ofMinLength(0)
+        .ofMaxLength(20)
+        .filter(word -> !word.equalsIgnoreCase("aardappel") && !word.equalsIgnoreCase("pieper"));
+  }
+
+  @Provide
+  Arbitrary<String> woordenboekWoorden() {
+    return Arbitraries.strings().withCharRange('a', 'z').ofMinLength(1).ofMaxLength(12);
+  }
+
+  private static String disguise(String word, long seed) {
+    StringBuilder result = new StringBuilder(word.length());
+    for (int i = 0; i < word.length(); i++) {
+      char c = word.charAt(i);
+      int choice = (int) ((seed >>> (2 * i)) & 3);
+      result.append(
+          switch (choice) {
+            case 1 -> Character.toUpperCase(c);
+            case 2 -> cyrillic(c);
+            default -> c;
+          });
+    }
+    return result.toString();
+  }
+
+  private static char cyrillic(char c) {
+    return switch (c) {
+      case 'a' -> '\u0430';
+      case 'e' -> '\u0435';
+      case 'p' -> '\u0440';
+      case 'i' -> '\u0456';
+      default -> c;
+    };
+  }
+}
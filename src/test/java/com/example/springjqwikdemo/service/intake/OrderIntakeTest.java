@@ -0,0 +1,217 @@
+package com.example.springjqwikdemo.service.intake;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frikandellen;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.OrderTicket;
+import com.example.springjqwikdemo.service.OrderAdmission;
+import com.example.springjqwikdemo.service.SnackbarListener;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.journal.OrderJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.Size;
+import net.jqwik.api.lifecycle.AfterContainer;
+import net.jqwik.api.lifecycle.BeforeContainer;
+
+/**
+ * Demonstreert: Asynchrone eigenschappen.
+ *
+ * <p>Wat via de intake binnenkomt moet uiteindelijk precies hetzelfde opleveren als een directe
+ * aanroep van de service; het verschil zit alleen in wanneer het resultaat klaar is.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class OrderIntakeTest {
+
+  private static final SnackbarService service = new SnackbarService();
+  private static OrderIntake intake;
+
+  @BeforeContainer
+  static void startIntake() {
+    intake =
+        new OrderIntake(service, new SnackbarProperties.Intake(64, 2, Duration.ofMinutes(1), 0));
+    intake.start();
+  }
+
+  @AfterContainer
+  static void stopIntake() {
+    intake.stop();
+  }
+
+  @Property
+  void propertyBasedTest_AsyncResultEqualsSyncResult(
+      @ForAll @Size(min = 1, max = 10) List<@Size(max = 20) List<Frituurbaar>> orders)
+      throws InterruptedException {
+    // Given - De ring is groter dan het aantal bestellingen, dus niets wordt geweigerd
+    List<OrderTicket> tickets = new ArrayList<>();
+    for (List<Frituurbaar> order : orders) {
+      tickets.add(intake.submit(order).orElseThrow());
+    }
+
+    // When & Then - Elk ticket wordt ooit DONE met het synchrone resultaat
+    for (int i = 0; i < orders.size(); i++) {
+      assertThat(tickets.get(i).status()).isEqualTo(OrderTicket.Status.QUEUED);
+      OrderTicket result = await(tickets.get(i).orderId());
+      assertThat(result.status()).isEqualTo(OrderTicket.Status.DONE);
+      assertThat(result.items()).isEqualTo(service.frituren(orders.get(i)));
+    }
+  }
+
+  @Example
+  @Label("Het toelatingsbudget blijft vast tot de bestelling gefrituurd is")
+  void permitIsHeldUntilOrderIsFried() throws InterruptedException {
+    // Given - Een worker die pas frituurt als de test dat toestaat
+    CountDownLatch fryer = new CountDownLatch(1);
+    SnackbarListener blocking =
+        new SnackbarListener() {
+          @Override
+          public void orderFried(List<Frituurbaar> order, long outputItems, long nanos) {
+            try {
+              fryer.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+    OrderIntake slow =
+        new OrderIntake(
+            new SnackbarService(List.of(blocking)),
+            new SnackbarProperties.Intake(64, 1, Duration.ofMinutes(1), 0));
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(100, 0, 0, null));
+    slow.start();
+    try {
+      // When
+      List<Frituurbaar> order = List.of(new Frikandellen(5));
+      OrderTicket ticket = slow.submit(order, admission.admit(5)).orElseThrow();
+
+      // Then - Het ticket is al uitgegeven, maar het budget is nog niet terug
+      assertThat(ticket.status()).isEqualTo(OrderTicket.Status.QUEUED);
+      assertThat(admission.inFlight()).isEqualTo(5);
+      fryer.countDown();
+      long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+      while (admission.inFlight() > 0 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertThat(admission.inFlight()).isZero();
+      assertThat(slow.ticket(ticket.orderId()).orElseThrow().status())
+          .isEqualTo(OrderTicket.Status.DONE);
+    } finally {
+      fryer.countDown();
+      slow.stop();
+    }
+  }
+
+  @Example
+  @Label("Een geweigerde bestelling geeft haar budget direct terug")
+  void refusedOrderReleasesPermit() {
+    // Given - Een intake zonder workers houdt de ring vol
+    OrderIntake stopped =
+        new OrderIntake(service, new SnackbarProperties.Intake(2, 1, Duration.ofMinutes(1), 0));
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(100, 0, 0, null));
+    List<Frituurbaar> order = List.of(new Frikandellen(1));
+    stopped.submit(order, admission.admit(1)).orElseThrow();
+    stopped.submit(order, admission.admit(1)).orElseThrow();
+
+    // When
+    Optional<OrderTicket> refused = stopped.submit(order, admission.admit(1));
+
+    // Then
+    assertThat(refused).isEmpty();
+    assertThat(admission.inFlight()).isEqualTo(2);
+  }
+
+  @Example
+  @Label("Met een journaal staat elke aangenomen bestelling erin voordat het ticket terugkomt")
+  void acceptedOrdersAreJournaledBeforeTheirTicket() throws IOException {
+    // Given
+    Path directory = Files.createTempDirectory("journal");
+    List<List<Frituurbaar>> orders =
+        List.of(List.of(new Frikandellen(1)), List.of(), List.of(new Frikandellen(3)));
+    try (OrderJournal journal =
+        new OrderJournal(new SnackbarProperties.Journal(true, directory, null, true))) {
+      OrderIntake journaled =
+          new OrderIntake(
+              service, new SnackbarProperties.Intake(64, 1, Duration.ofMinutes(1), 0), journal);
+
+      // When - De workers draaien niet, dus niets is nog gefrituurd
+      for (List<Frituurbaar> order : orders) {
+        journaled.submit(order).orElseThrow();
+      }
+
+      // Then
+      List<List<Frituurbaar>> replayed = new ArrayList<>();
+      journal.replay(0, entry -> replayed.add(entry.order()));
+      assertThat(replayed).isEqualTo(orders);
+    } finally {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  @Example
+  @Label("Als het journaal faalt, gaat de bestelling niet de ring in en komt het budget terug")
+  void failedAppendQueuesNothingAndReleasesPermit() throws IOException {
+    // Given - Een gesloten journaal weigert elke bestelling
+    Path directory = Files.createTempDirectory("journal");
+    OrderJournal journal =
+        new OrderJournal(new SnackbarProperties.Journal(true, directory, null, true));
+    journal.close();
+    OrderIntake journaled =
+        new OrderIntake(
+            service, new SnackbarProperties.Intake(2, 1, Duration.ofMinutes(1), 0), journal);
+    OrderAdmission admission =
+        new OrderAdmission(new SnackbarProperties.Admission(100, 0, 0, null));
+    List<Frituurbaar> order = List.of(new Frikandellen(1));
+
+    try {
+      // When & Then - Ook meer pogingen dan er plaatsen zijn houden de ring leeg
+      for (int i = 0; i < 3; i++) {
+        OrderAdmission.Permit permit = admission.admit(1);
+        assertThatThrownBy(() -> journaled.submit(order, permit))
+            .isInstanceOf(IllegalStateException.class);
+      }
+      assertThat(journaled.queued()).isZero();
+      assertThat(admission.inFlight()).isZero();
+    } finally {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  @Example
+  void unknownOrdersHaveNoTicket() {
+    assertThat(intake.ticket("bestaat-niet")).isEmpty();
+  }
+
+  private static OrderTicket await(String orderId) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (System.nanoTime() < deadline) {
+      OrderTicket ticket = intake.ticket(orderId).orElseThrow();
+      if (ticket.status() != OrderTicket.Status.QUEUED) {
+        return ticket;
+      }
+      Thread.sleep(1);
+    }
+    throw new AssertionError("Order " + orderId + " was not fried in time");
+  }
+}
@@ -0,0 +1,137 @@
+package com.example.springjqwikdemo.service.intake;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.Frikandellen;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Model-based testing.
+ *
+ * <p>Een gegenereerde reeks van offer- en poll-stappen moet op de ring precies hetzelfde doen als
+ * op een begrensde {@link ArrayDeque}. Daarnaast leveren gelijktijdige producenten en consumenten
+ * elke bestelling precies één keer af.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class OrderRingTest {
+
+  private static final List<Frituurbaar> ORDER = List.of(new Frikandellen(1));
+
+  @Property
+  void propertyBasedTest_BehavesLikeABoundedQueue(
+      @ForAll @IntRange(min = 1, max = 16) int capacity,
+      @ForAll @Size(max = 200) List<Boolean> offers) {
+    // Given
+    OrderRing ring = new OrderRing(capacity);
+    Queue<String> model = new ArrayDeque<>();
+    int next = 0;
+
+    // When & Then - true is een offer, false een poll
+    for (boolean offer : offers) {
+      if (offer) {
+        String id = Integer.toString(next++);
+        boolean fits = model.size() < ring.capacity();
+        assertThat(ring.offer(id, ORDER)).isEqualTo(fits);
+        if (fits) {
+          model.add(id);
+        }
+      } else {
+        String[] polled = new String[1];
+        assertThat(ring.poll((id, order) -> polled[0] = id)).isEqualTo(!model.isEmpty());
+        assertThat(polled[0]).isEqualTo(model.poll());
+      }
+      assertThat(ring.size()).isEqualTo(model.size());
+    }
+  }
+
+  @Property
+  void propertyBasedTest_CapacityIsAPowerOfTwo(@ForAll @IntRange(min = 1, max = 1 << 20) int n) {
+    int capacity = new OrderRing(n).capacity();
+
+    assertThat(capacity).isGreaterThanOrEqualTo(n).isLessThan(Math.max(4, 2 * n));
+    assertThat(Integer.bitCount(capacity)).isEqualTo(1);
+  }
+
+  /**
+   * Demonstreert: Een invariant onder gelijktijdigheid
+   *
+   * Vier producenten en vier consumenten delen een kleine ring; elke geplaatste bestelling komt
+   * precies één keer aan, en per producent in volgorde.
+   */
+  @Property(tries = 10)
+  void propertyBasedTest_EveryOrderIsDeliveredOnce(
+      @ForAll @IntRange(min = 1, max = 64) int capacity,
+      @ForAll @IntRange(min = 1, max = 5_000) int perProducer)
+      throws InterruptedException {
+    // Given
+    OrderRing ring = new OrderRing(capacity);
+    int producers = 4;
+    ConcurrentHashMap<String, Boolean> delivered = new ConcurrentHashMap<>();
+    AtomicBoolean duplicate = new AtomicBoolean();
+    CountDownLatch produced = new CountDownLatch(producers);
+    List<Thread> threads = new ArrayList<>();
+
+    // When
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      threads.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int i = 0; i < perProducer; i++) {
+                      while (!ring.offer(producer + ":" + i, ORDER)) {
+                        Thread.yield();
+                      }
+                    }
+                    produced.countDown();
+                  }));
+    }
+    for (int c = 0; c < 4; c++) {
+      int[] last = new int[producers];
+      Arrays.fill(last, -1);
+      threads.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    OrderRing.Consumer consumer =
+                        (id, order) -> {
+                          if (delivered.put(id, true) != null) {
+                            duplicate.set(true);
+                          }
+                          int producer = Integer.parseInt(id.substring(0, id.indexOf(':')));
+                          int sequence = Integer.parseInt(id.substring(id.indexOf(':') + 1));
+                          if (sequence <= last[producer]) {
+                            duplicate.set(true);
+                          }
+                          last[producer] = sequence;
+                        };
+                    while (produced.getCount() > 0 || ring.size() > 0) {
+                      if (!ring.poll(consumer)) {
+                        Thread.yield();
+                      }
+                    }
+                    while (ring.poll(consumer)) {
+                      // Leegmaken
+                    }
+                  }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // Then
+    assertThat(duplicate).isFalse();
+    assertThat(delivered).hasSize(producers * perProducer);
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.springjqwikdemo.service.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Demonstreert: Round-trip eigenschappen over een bestand.
+ *
+ * <p>Wat in het journaal wordt geschreven moet er in dezelfde volgorde weer uitkomen, ook over
+ * segmentgrenzen heen en na een herstart. Een half geschreven record aan het einde telt niet mee.
+ */
+@PropertyDefaults(tries = 20, generation = GenerationMode.RANDOMIZED)
+class OrderJournalTest {
+
+  @Property
+  void propertyBasedTest_ReplayReturnsWhatWasAppended(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders,
+      @ForAll @IntRange(min = 1, max = 64) int segmentKilobytes)
+      throws IOException {
+    Path directory = Files.createTempDirectory("journal");
+    SnackbarProperties.Journal settings = settings(directory, segmentKilobytes);
+    try {
+      // When
+      try (OrderJournal journal = new OrderJournal(settings)) {
+        for (int i = 0; i < orders.size(); i++) {
+          assertThat(journal.append(orders.get(i))).isEqualTo(i);
+        }
+        assertThat(replay(journal, 0)).isEqualTo(orders);
+      }
+
+      // Then - Ook na een herstart, en vanaf elk volgnummer
+      try (OrderJournal journal = new OrderJournal(settings)) {
+        assertThat(journal.nextSequence()).isEqualTo(orders.size());
+        assertThat(replay(journal, 0)).isEqualTo(orders);
+        int from = orders.size() / 2;
+        assertThat(replay(journal, from)).isEqualTo(orders.subList(from, orders.size()));
+      }
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Example
+  void tornRecordsAreIgnoredOnRestart() throws IOException {
+    // Given - Twee bestellingen, waarvan de laatste half op schijf staat
+    Path directory = Files.createTempDirectory("journal");
+    SnackbarProperties.Journal settings = settings(directory, 4);
+    List<List<Frituurbaar>> orders =
+        DomainArbitraries.frituurbaar()
+            .list()
+            .ofMinSize(1)
+            .ofMaxSize(5)
+            .sampleStream()
+            .limit(2)
+            .toList();
+    try {
+      try (OrderJournal journal = new OrderJournal(settings)) {
+        orders.forEach(journal::append);
+      }
+      Path segment;
+      try (Stream<Path> files = Files.list(directory)) {
+        segment = files.findFirst().orElseThrow();
+      }
+      int payload =
+          OrderJournal.SEGMENT_HEADER + secondRecordOffset(segment) + OrderJournal.RECORD_HEADER;
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xAB}), payload);
+      }
+
+      // When & Then
+      try (OrderJournal journal = new OrderJournal(settings)) {
+        assertThat(journal.nextSequence()).isEqualTo(1);
+        assertThat(replay(journal, 0)).containsExactly(orders.get(0));
+        journal.append(orders.get(1));
+        assertThat(replay(journal, 0)).isEqualTo(orders);
+      }
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Provide
+  Arbitrary<List<List<Frituurbaar>>> bestellingen() {
+    return DomainArbitraries.frituurbaar().list().ofMaxSize(20).list().ofMaxSize(300);
+  }
+
+  private static SnackbarProperties.Journal settings(Path directory, int segmentKilobytes) {
+    return new SnackbarProperties.Journal(
+        true, directory, DataSize.ofKilobytes(segmentKilobytes), false);
+  }
+
+  private static List<List<Frituurbaar>> replay(OrderJournal journal, long from)
+      throws IOException {
+    List<List<Frituurbaar>> orders = new ArrayList<>();
+    journal.replay(from, entry -> orders.add(entry.order()));
+    return orders;
+  }
+
+  private static int secondRecordOffset(Path segment) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment)) {
+      ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+      channel.read(length, OrderJournal.SEGMENT_HEADER);
+      return OrderJournal.RECORD_HEADER + length.flip().getInt();
+    }
+  }
+
+  private static void delete(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+}
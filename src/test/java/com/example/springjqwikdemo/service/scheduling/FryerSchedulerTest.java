@@ -0,0 +1,161 @@
+package com.example.springjqwikdemo.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+/**
+ * Demonstreert: Invarianten van een planning.
+ *
+ * <p>Voor elke gegenereerde reeks bestellingen en elke keuken moet de planning precies bakken wat
+ * de service frituurt, zonder overvolle manden en zonder dat twee manden tegelijk in dezelfde
+ * frituur hangen.
+ */
+@PropertyDefaults(tries = 100, generation = GenerationMode.RANDOMIZED)
+class FryerSchedulerTest {
+
+  private final SnackbarService service = new SnackbarService();
+
+  @Property
+  void propertyBasedTest_EveryFriedItemIsPlannedOnce(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders,
+      @ForAll @IntRange(min = 1, max = 8) int fryers) {
+    // Given
+    Map<String, Long> fried = new HashMap<>();
+    orders.forEach(
+        order -> service.frituren(order).forEach(item -> fried.merge(item, 1L, Long::sum)));
+
+    // When
+    FryPlan plan = scheduler(fryers).plan(orders);
+
+    // Then
+    assertThat(
+            plan.baskets().stream()
+                .collect(
+                    Collectors.groupingBy(
+                        PlannedBasket::item,
+                        Collectors.summingLong(PlannedBasket::quantity))))
+        .isEqualTo(fried);
+  }
+
+  @Property
+  void propertyBasedTest_BasketsAreNeverOverfilled(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders) {
+    FryPlan plan = scheduler(4).plan(orders);
+
+    assertThat(plan.baskets())
+        .allSatisfy(
+            basket -> {
+              assertThat(basket.quantity()).isBetween(1, basket.capacity());
+              assertThat(basket.orders()).isNotEmpty().isSorted();
+            });
+  }
+
+  /**
+   * Demonstreert: Een invariant over tijd
+   *
+   * Per frituur mogen de manden elkaar niet overlappen, en de planning begint manden in volgorde
+   * van tijd.
+   */
+  @Property
+  void propertyBasedTest_FryersNeverHoldTwoBasketsAtOnce(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders,
+      @ForAll @IntRange(min = 1, max = 8) int fryers) {
+    // When
+    FryPlan plan = scheduler(fryers).plan(orders);
+
+    // Then
+    assertThat(plan.baskets())
+        .isSortedAccordingTo(Comparator.comparingLong(PlannedBasket::startMillis));
+    Map<Integer, List<PlannedBasket>> perFryer =
+        plan.baskets().stream().collect(Collectors.groupingBy(PlannedBasket::fryer));
+    perFryer.forEach(
+        (fryer, baskets) -> {
+          assertThat(fryer).isBetween(0, fryers - 1);
+          for (int i = 1; i < baskets.size(); i++) {
+            assertThat(baskets.get(i).startMillis())
+                .isGreaterThanOrEqualTo(baskets.get(i - 1).endMillis());
+          }
+        });
+  }
+
+  @Property
+  void propertyBasedTest_MakespanAndReadyTimesAgree(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders,
+      @ForAll @IntRange(min = 1, max = 8) int fryers) {
+    // When
+    FryPlan plan = scheduler(fryers).plan(orders);
+
+    // Then - Niemand is eerder klaar dan zijn laatste mand, en alles samen past niet sneller
+    long busy = 0;
+    for (PlannedBasket basket : plan.baskets()) {
+      busy += basket.endMillis() - basket.startMillis();
+      for (int order : basket.orders()) {
+        assertThat(plan.orderReadyMillis().get(order)).isGreaterThanOrEqualTo(basket.endMillis());
+      }
+    }
+    assertThat(plan.orderReadyMillis()).hasSize(orders.size());
+    assertThat(plan.makespanMillis() * fryers).isGreaterThanOrEqualTo(busy);
+    assertThat(plan.utilization()).isBetween(0.0, 1.0);
+    assertThat(plan.fill()).isBetween(0.0, 1.0);
+  }
+
+  @Example
+  void combinesIdenticalItemsOfDifferentOrders() {
+    // Given
+    List<List<Frituurbaar>> orders =
+        List.of(
+            List.of(new Kroketten(Krokettype.KAAS, 3), new Frikandellen(2)),
+            List.of(new Kroketten(Krokettype.KAAS, 5), new Kroketten(Krokettype.GARNALEN, 1)));
+
+    // When
+    FryPlan plan = scheduler(2).plan(orders);
+
+    // Then
+    Map<String, PlannedBasket> byItem =
+        plan.baskets().stream()
+            .collect(Collectors.toMap(PlannedBasket::item, Function.identity()));
+    assertThat(plan.baskets()).hasSize(3);
+    assertThat(byItem.get(SnackbarService.kroketLabel(Krokettype.KAAS)))
+        .satisfies(
+            basket -> {
+              assertThat(basket.quantity()).isEqualTo(8);
+              assertThat(basket.orders()).containsExactly(0, 1);
+            });
+    assertThat(plan.makespanMillis()).isEqualTo(2 * 180_000);
+    assertThat(plan.orderReadyMillis()).containsExactly(180_000L, 360_000L);
+  }
+
+  @Example
+  void rejectsPlansWithTooManyBaskets() {
+    FryerScheduler scheduler =
+        new FryerScheduler(new SnackbarProperties.Planning(1, 2, null, null, null, null, null));
+
+    assertThatThrownBy(() -> scheduler.plan(List.of(List.of(new Frikandellen(25)))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Provide
+  Arbitrary<List<List<Frituurbaar>>> bestellingen() {
+    return DomainArbitraries.frituurbaar().list().ofMaxSize(6).list().ofMaxSize(30);
+  }
+
+  private static FryerScheduler scheduler(int fryers) {
+    SnackbarProperties.Basket basket = new SnackbarProperties.Basket(Duration.ofMinutes(3), 0);
+    return new FryerScheduler(
+        new SnackbarProperties.Planning(fryers, 0, null, basket, basket, null, null));
+  }
+}
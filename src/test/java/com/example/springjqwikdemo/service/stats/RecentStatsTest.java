@@ -0,0 +1,144 @@
+package com.example.springjqwikdemo.service.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Een invariant over een schuivend tijdvenster.
+ *
+ * <p>Met een nagemaakte klok bepaalt de test zelf wanneer een bestelling binnenkomt; een venster
+ * moet dan precies de bestellingen van zijn laatste minuten tellen, en de percentielen mogen
+ * hoogstens een emmerbreedte naast de echte waarden zitten.
+ */
+@PropertyDefaults(tries = 50, generation = GenerationMode.RANDOMIZED)
+class RecentStatsTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+  @Property
+  void propertyBasedTest_HistogramBucketsHoldTheirValues(
+      @ForAll @LongRange(min = 0, max = Long.MAX_VALUE) long value) {
+    int index = LogHistogram.index(value);
+
+    assertThat(index).isBetween(0, LogHistogram.BUCKETS - 1);
+    assertThat(value)
+        .isBetween(LogHistogram.lowerBound(index), LogHistogram.upperBound(index));
+    assertThat(LogHistogram.upperBound(index) - LogHistogram.lowerBound(index))
+        .isLessThanOrEqualTo(LogHistogram.lowerBound(index) / 4);
+  }
+
+  @Property(tries = 20)
+  void propertyBasedTest_WindowsCountEveryConcurrentOrder(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders) {
+    // Given
+    RecentStats stats = new RecentStats(clock::get);
+    SnackbarService service = new SnackbarService(List.of(stats));
+    List<String> fried = Collections.synchronizedList(new ArrayList<>());
+
+    // When - Acht threads frituren tegelijk
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<Void>> results = new ArrayList<>();
+      for (List<Frituurbaar> order : orders) {
+        results.add(
+            CompletableFuture.runAsync(() -> fried.addAll(service.frituren(order)), threads));
+      }
+      results.forEach(CompletableFuture::join);
+    } finally {
+      threads.shutdown();
+    }
+
+    // Then
+    for (RecentStats.Window window : stats.windows()) {
+      assertThat(window.orders()).isEqualTo(orders.size());
+      assertThat(window.items()).isEqualTo(fried.size());
+      assertThat(window.endpoints().get("frituren").requests()).isEqualTo(orders.size());
+      assertThat(window.topSnacks().stream().mapToLong(ItemCount::count).sum())
+          .isEqualTo(fried.size());
+      assertThat(window.topSnacks())
+          .allSatisfy(
+              snack ->
+                  assertThat(snack.count())
+                      .isEqualTo(fried.stream().filter(snack.item()::equals).count()));
+    }
+  }
+
+  @Property
+  void propertyBasedTest_PercentilesAreWithinOneBucket(
+      @ForAll @Size(min = 1, max = 200) List<@LongRange(min = 1, max = 1_000_000) Long> outputs) {
+    // Given
+    RecentStats stats = new RecentStats(clock::get);
+
+    // When - De service zou evenveel microseconden nodig hebben als er items uitkomen
+    for (long output : outputs) {
+      stats.wordsProcessed(output, 0, output, output * 1_000);
+    }
+
+    // Then
+    List<Long> sorted = outputs.stream().sorted().toList();
+    RecentStats.Endpoint bakken = stats.window(Duration.ofMinutes(1)).endpoints().get("bakken");
+    for (RecentStats.Percentiles percentiles :
+        List.of(bakken.outputItems(), bakken.latencyMicros())) {
+      assertWithinBucket(percentiles.p50(), percentile(sorted, 0.5));
+      assertWithinBucket(percentiles.p90(), percentile(sorted, 0.9));
+      assertWithinBucket(percentiles.p99(), percentile(sorted, 0.99));
+      assertWithinBucket(percentiles.max(), sorted.getLast());
+    }
+  }
+
+  @Example
+  void ordersLeaveTheWindowsAsTimePasses() {
+    // Given
+    RecentStats stats = new RecentStats(clock::get);
+    stats.orderFried(List.of(new Kroketten(Krokettype.KAAS, 3)), 3, 1_000);
+
+    // When - Twee minuten later
+    clock.addAndGet(Duration.ofMinutes(2).toMillis());
+    stats.orderFried(List.of(new Frikandellen(1)), 1, 1_000);
+
+    // Then
+    assertThat(stats.windows())
+        .extracting(RecentStats.Window::orders)
+        .containsExactly(1L, 2L, 2L);
+    assertThat(stats.window(Duration.ofMinutes(5)).topSnacks())
+        .containsExactly(
+            new ItemCount(SnackbarService.kroketLabel(Krokettype.KAAS), 3),
+            new ItemCount(SnackbarService.label(new Frikandellen(1)), 1));
+
+    // When - Na een hele ronde door de emmers
+    clock.addAndGet(RecentStats.BUCKETS * RecentStats.BUCKET_MILLIS);
+    stats.orderFried(List.of(new Cervela(1)), 1, 1_000);
+
+    // Then - De hergebruikte emmer is eerst leeggemaakt
+    assertThat(stats.windows()).extracting(RecentStats.Window::orders).containsOnly(1L);
+    assertThat(stats.window(Duration.ofMinutes(15)).items()).isEqualTo(1);
+  }
+
+  @Provide
+  Arbitrary<List<List<Frituurbaar>>> bestellingen() {
+    return DomainArbitraries.frituurbaar().list().ofMaxSize(10).list().ofMaxSize(100);
+  }
+
+  private static long percentile(List<Long> sorted, double quantile) {
+    int rank = (int) Math.max(1, Math.ceil(quantile * sorted.size()));
+    return sorted.get(rank - 1);
+  }
+
+  private static void assertWithinBucket(long reported, long actual) {
+    assertThat(reported).isBetween(actual, actual + actual / 4);
+  }
+}
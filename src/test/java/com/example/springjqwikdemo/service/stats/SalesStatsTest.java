@@ -0,0 +1,91 @@
+package com.example.springjqwikdemo.service.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.domain.Frituurbaar;
+import com.example.springjqwikdemo.domain.Krokettype;
+import com.example.springjqwikdemo.property.DomainArbitraries;
+import com.example.springjqwikdemo.service.SnackbarService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.AlphaChars;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+
+/**
+ * Demonstreert: Een invariant onder gelijktijdigheid.
+ *
+ * <p>Hoeveel threads er ook tegelijk frituren, de totalen moeten daarna precies kloppen met wat
+ * frituren() heeft teruggegeven.
+ */
+@PropertyDefaults(tries = 20, generation = GenerationMode.RANDOMIZED)
+class SalesStatsTest {
+
+  @Property
+  void propertyBasedTest_TotalsMatchTheFriedItems(
+      @ForAll("bestellingen") List<List<Frituurbaar>> orders) {
+    // Given
+    SalesStats stats = new SalesStats();
+    SnackbarService service = new SnackbarService(List.of(stats));
+    List<String> fried = new ArrayList<>();
+
+    // When - Acht threads frituren tegelijk
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<List<String>>> results = new ArrayList<>();
+      for (List<Frituurbaar> order : orders) {
+        results.add(CompletableFuture.supplyAsync(() -> service.frituren(order), threads));
+      }
+      results.forEach(result -> fried.addAll(result.join()));
+    } finally {
+      threads.shutdown();
+    }
+
+    // Then
+    SalesStats.Snapshot snapshot = stats.snapshot();
+    assertThat(snapshot.orders()).isEqualTo(orders.size());
+    assertThat(snapshot.items()).isEqualTo(fried.size());
+    assertThat(snapshot.subtypes().values().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(fried.size());
+    for (Krokettype type : Krokettype.values()) {
+      assertThat(snapshot.kroketten().get(type))
+          .isEqualTo(fried.stream().filter(SnackbarService.kroketLabel(type)::equals).count());
+    }
+    assertThat(snapshot.kroketten().values().stream().mapToLong(Long::longValue).sum())
+        .isEqualTo(snapshot.subtypes().get("kroketten"));
+  }
+
+  @Property
+  void propertyBasedTest_PotatoWordsAreCounted(
+      @ForAll @Size(max = 30) List<@AlphaChars @Size(max = 8) String> otherWords,
+      @ForAll @IntRange(max = 20) int aardappels) {
+    // Given
+    SalesStats stats = new SalesStats();
+    SnackbarService service = new SnackbarService(List.of(stats));
+    List<String> input =
+        new ArrayList<>(
+            otherWords.stream()
+                .filter(word -> !word.equalsIgnoreCase("pieper"))
+                .filter(word -> !word.equalsIgnoreCase("aardappel"))
+                .toList());
+    for (int i = 0; i < aardappels; i++) {
+      input.add(i % 2 == 0 ? "aardappel" : "pieper");
+    }
+
+    // When
+    service.processWords(input);
+
+    // Then
+    assertThat(stats.snapshot().words()).isEqualTo(input.size());
+    assertThat(stats.snapshot().potatoWords()).isEqualTo(aardappels);
+  }
+
+  @Provide
+  Arbitrary<List<List<Frituurbaar>>> bestellingen() {
+    return DomainArbitraries.frituurbaar().list().ofMaxSize(10).list().ofMaxSize(100);
+  }
+}
@@ -0,0 +1,219 @@
+package com.example.springjqwikdemo.service.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springjqwikdemo.config.SnackbarProperties;
+import com.example.springjqwikdemo.domain.*;
+import com.example.springjqwikdemo.service.SnackbarService;
+import com.example.springjqwikdemo.service.stats.RecentStats;
+import com.example.springjqwikdemo.service.stats.SalesStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.jqwik.api.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Demonstreert: Een invariant over gegenereerde testdata.
+ *
+ * <p>De warm-up moet elke code path van het frituren raken, dus elke synthetische bestelling
+ * bevat elk subtype en elk krokettype precies één keer. Verder moet de warm-up binnen zijn budget
+ * blijven, klaar zijn voordat de applicatie zich klaar meldt, en mogen de synthetische
+ * bestellingen niet in de verkoopcijfers terechtkomen.
+ */
+class WarmupRunnerTest {
+
+  @Example
+  void everyWarmupOrderCoversAllSnacks() {
+    for (int i = 0; i < 100; i++) {
+      // When
+      List<Frituurbaar> order = WarmupRunner.order();
+
+      // Then
+      assertThat(order).hasSize(4 + Krokettype.values().length);
+      assertThat(order).filteredOn(Pataten.class::isInstance).hasSize(1);
+      assertThat(order).filteredOn(Frikandellen.class::isInstance).hasSize(1);
+      assertThat(order).filteredOn(Cervela.class::isInstance).hasSize(1);
+      assertThat(order).filteredOn(Bereklauw.class::isInstance).hasSize(1);
+      assertThat(order)
+          .filteredOn(Kroketten.class::isInstance)
+          .extracting(line -> ((Kroketten) line).type())
+          .containsExactlyInAnyOrder(Krokettype.values());
+    }
+  }
+
+  @Example
+  @Label("De warm-up stuurt precies zijn aantal requests, allemaal voor readiness")
+  void stopsAfterItsRequestBudget() throws Exception {
+    // Given
+    Endpoint endpoint = new Endpoint(0);
+
+    // When
+    try {
+      endpoint.warmUp("--snackbar.warmup.requests=40", "--snackbar.warmup.duration=1m");
+    } finally {
+      endpoint.stop();
+    }
+
+    // Then
+    assertThat(endpoint.received.get()).isEqualTo(40);
+    assertThat(endpoint.tagged.get()).isEqualTo(40);
+    assertThat(endpoint.receivedWhenReady.get()).isEqualTo(40);
+  }
+
+  @Example
+  @Label("De warm-up stopt na zijn tijdsbudget, en ook dat voor readiness")
+  void stopsAfterItsDuration() throws Exception {
+    // Given - Elk request duurt 20 ms
+    Endpoint endpoint = new Endpoint(20);
+
+    // When
+    try {
+      endpoint.warmUp(
+          "--snackbar.warmup.requests=1000000",
+          "--snackbar.warmup.duration=300ms",
+          "--snackbar.warmup.concurrency=2");
+    } finally {
+      endpoint.stop();
+    }
+
+    // Then - Hooguit één request per sender na de deadline
+    long warmupMillis = (endpoint.readyNanos.get() - endpoint.firstNanos.get()) / 1_000_000;
+    assertThat(endpoint.received.get()).isBetween(1, 2 * (300 / 20 + 2));
+    assertThat(warmupMillis).isLessThan(300 + 1_000);
+    assertThat(endpoint.receivedWhenReady.get()).isEqualTo(endpoint.received.get());
+  }
+
+  @Example
+  @Label("Alleen requests met het token die via loopback binnenkomen horen bij de warm-up")
+  void warmupRequestsNeedTheTokenAndLoopback() {
+    String token = WarmupTraffic.token();
+
+    assertThat(WarmupTraffic.isWarmup(token, "127.0.0.1")).isTrue();
+    assertThat(WarmupTraffic.isWarmup(token, "0:0:0:0:0:0:0:1")).isTrue();
+    assertThat(WarmupTraffic.isWarmup(token, "192.168.1.20")).isFalse();
+    assertThat(WarmupTraffic.isWarmup("true", "127.0.0.1")).isFalse();
+    assertThat(WarmupTraffic.isWarmup(null, "127.0.0.1")).isFalse();
+  }
+
+  @Example
+  @Label("Warm-up bestellingen tellen niet mee in de verkoopcijfers")
+  void warmupOrdersStayOutOfTheStats() {
+    // Given
+    SalesStats sales = new SalesStats();
+    RecentStats recent = new RecentStats();
+    SnackbarService service = new SnackbarService(List.of(sales, recent));
+
+    // When
+    WarmupTraffic.begin();
+    try {
+      service.frituren(WarmupRunner.order());
+      service.processWords(List.of("patat", "kapsalon"));
+    } finally {
+      WarmupTraffic.end();
+    }
+    service.frituren(List.of(new Frikandellen(2)));
+
+    // Then
+    assertThat(sales.snapshot().orders()).isEqualTo(1);
+    assertThat(sales.snapshot().items()).isEqualTo(2);
+    assertThat(sales.snapshot().words()).isZero();
+    RecentStats.Window window = recent.windows().getFirst();
+    assertThat(window.orders()).isEqualTo(1);
+    assertThat(window.items()).isEqualTo(2);
+    assertThat(window.endpoints().get("bakken").requests()).isZero();
+  }
+
+  /** Stands in for the application's endpoints, so the runner can be started on its own. */
+  private static final class Endpoint {
+
+    final AtomicInteger received = new AtomicInteger();
+    final AtomicInteger tagged = new AtomicInteger();
+    final AtomicInteger receivedWhenReady = new AtomicInteger(-1);
+    final AtomicLong firstNanos = new AtomicLong();
+    final AtomicLong readyNanos = new AtomicLong();
+    final HttpServer server;
+    final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    Endpoint(long delayMillis) throws IOException {
+      server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext(
+          "/api/",
+          exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+              body.readAllBytes();
+            }
+            firstNanos.compareAndSet(0, System.nanoTime());
+            if (WarmupTraffic.token()
+                .equals(exchange.getRequestHeaders().getFirst(WarmupTraffic.HEADER))) {
+              tagged.incrementAndGet();
+            }
+            try {
+              Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            received.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+          });
+      server.setExecutor(threads);
+      server.start();
+    }
+
+    /** Starts a context holding only the runner, as if the application listened on this port. */
+    void warmUp(String... arguments) {
+      SpringApplication application = new SpringApplication(WarmupConfig.class);
+      application.setWebApplicationType(WebApplicationType.NONE);
+      application.setBannerMode(Banner.Mode.OFF);
+      application.setLogStartupInfo(false);
+      application.addListeners(
+          (ApplicationListener<ApplicationEvent>)
+              event -> {
+                if (event instanceof AvailabilityChangeEvent<?> change
+                    && change.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                  readyNanos.set(System.nanoTime());
+                  receivedWhenReady.set(received.get());
+                }
+              });
+      String[] args = new String[arguments.length + 2];
+      args[0] = "--local.server.port=" + server.getAddress().getPort();
+      args[1] = "--snackbar.warmup.enabled=true";
+      System.arraycopy(arguments, 0, args, 2, arguments.length);
+      application.run(args).close();
+    }
+
+    void stop() {
+      server.stop(0);
+      threads.close();
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @EnableConfigurationProperties(SnackbarProperties.class)
+  @Import(WarmupRunner.class)
+  static class WarmupConfig {
+
+    @Bean
+    ObjectMapper objectMapper() {
+      return new ObjectMapper();
+    }
+  }
+}